@@ -2,21 +2,36 @@ package mc.leaf.modules.waypoints;
 
 import mc.leaf.core.interfaces.ILeafCore;
 import mc.leaf.core.interfaces.ILeafModule;
+import mc.leaf.modules.waypoints.commands.HomeStarCommand;
+import mc.leaf.modules.waypoints.commands.WaypointsCommand;
+import mc.leaf.modules.waypoints.config.WaypointsConfig;
 import mc.leaf.modules.waypoints.items.GhostTeleporterTag;
+import mc.leaf.modules.waypoints.listeners.StarIndexListener;
 import mc.leaf.modules.waypoints.listeners.WaypointListener;
+import mc.leaf.modules.waypoints.teleport.StarIndex;
+import mc.leaf.modules.waypoints.teleport.WaypointTeleporter;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.ShapedRecipe;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
+import java.io.IOException;
+
 public class LeafWaypointsModule implements ILeafModule {
 
-    private final JavaPlugin    plugin;
-    private final ILeafCore     core;
-    private final NamespacedKey craftKey;
-    private       boolean       enabled;
+    private final    JavaPlugin      plugin;
+    private final    ILeafCore       core;
+    private final    NamespacedKey   craftKey;
+    private volatile WaypointsConfig configuration = WaypointsConfig.DEFAULT;
+    private          boolean         enabled;
 
     public LeafWaypointsModule(JavaPlugin plugin, ILeafCore core) {
 
@@ -29,8 +44,24 @@ public class LeafWaypointsModule implements ILeafModule {
     @Override
     public void onEnable() {
 
-        this.createRecipe();
-        this.getCore().getEventBridge().register(this, new WaypointListener(this));
+        this.getPlugin().saveDefaultConfig();
+
+        try {
+            this.configuration = this.loadConfiguration();
+        } catch (IllegalArgumentException e) {
+            this.getPlugin().getLogger().severe("Invalid configuration, using default values: " + e.getMessage());
+        }
+
+        this.createRecipe(this.configuration.recipe());
+
+        StarIndex          index      = new StarIndex(this);
+        WaypointTeleporter teleporter = new WaypointTeleporter(this, index);
+        this.getPlugin().getServer().getOnlinePlayers().forEach(index::rebuild);
+
+        this.getCore().getEventBridge().register(this, new WaypointListener(this, teleporter));
+        this.getCore().getEventBridge().register(this, new StarIndexListener(this, index));
+        this.registerCommand("waypoints", new WaypointsCommand(this));
+        this.registerCommand("home-star", new HomeStarCommand(teleporter));
         this.enabled = true;
     }
 
@@ -65,7 +96,73 @@ public class LeafWaypointsModule implements ILeafModule {
         return this.plugin;
     }
 
-    private void createRecipe() {
+    /**
+     * Retrieve the current {@link WaypointsConfig}. The returned snapshot is immutable and should be read once per
+     * operation.
+     *
+     * @return A {@link WaypointsConfig}.
+     */
+    public WaypointsConfig getConfiguration() {
+
+        return this.configuration;
+    }
+
+    /**
+     * Reload the configuration file and publish it if it is valid. The recipe is only registered again when its shape
+     * or ingredients have changed.
+     *
+     * @throws IllegalArgumentException
+     *         If the configuration file is invalid. The current configuration is kept.
+     */
+    public void reload() {
+
+        WaypointsConfig updated  = this.loadConfiguration();
+        WaypointsConfig previous = this.configuration;
+        this.configuration = updated;
+
+        if (!previous.recipe().equals(updated.recipe())) {
+            this.getPlugin().getServer().removeRecipe(this.craftKey);
+            this.createRecipe(updated.recipe());
+        }
+    }
+
+    /**
+     * Read and validate the configuration file. Unlike {@link JavaPlugin#reloadConfig()}, which only logs syntax errors
+     * and falls back to an empty configuration, any error is reported to the caller.
+     *
+     * @return A {@link WaypointsConfig}.
+     *
+     * @throws IllegalArgumentException
+     *         If the configuration file could not be read or is invalid.
+     */
+    private WaypointsConfig loadConfiguration() {
+
+        File              file = new File(this.getPlugin().getDataFolder(), "config.yml");
+        YamlConfiguration yaml = new YamlConfiguration();
+
+        try {
+            yaml.load(file);
+        } catch (IOException | InvalidConfigurationException e) {
+            throw new IllegalArgumentException("Unable to read " + file.getName() + ": " + e.getMessage(), e);
+        }
+
+        return WaypointsConfig.from(yaml);
+    }
+
+    private <T extends CommandExecutor & TabCompleter> void registerCommand(String name, T executor) {
+
+        PluginCommand command = this.getPlugin().getCommand(name);
+
+        if (command == null) {
+            this.getPlugin().getLogger().severe("Unable to find command " + name + " in plugin.yml.");
+            return;
+        }
+
+        command.setExecutor(executor);
+        command.setTabCompleter(executor);
+    }
+
+    private void createRecipe(WaypointsConfig.RecipeShape shape) {
 
         ItemStack          stack = new ItemStack(Material.NETHER_STAR);
         ItemMeta           meta  = stack.getItemMeta();
@@ -75,9 +172,8 @@ public class LeafWaypointsModule implements ILeafModule {
         stack.setItemMeta(meta);
 
         ShapedRecipe recipe = new ShapedRecipe(this.craftKey, stack);
-        recipe.shape("xo", "oo");
-        recipe.setIngredient('x', Material.NETHER_STAR);
-        recipe.setIngredient('o', Material.ENDER_PEARL);
+        recipe.shape(shape.shape().toArray(String[]::new));
+        shape.ingredients().forEach((symbol, material) -> recipe.setIngredient(symbol, material));
 
         this.getPlugin().getServer().addRecipe(recipe);
     }
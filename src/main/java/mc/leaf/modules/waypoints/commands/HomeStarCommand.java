@@ -0,0 +1,45 @@
+package mc.leaf.modules.waypoints.commands;
+
+import mc.leaf.modules.waypoints.LeafWaypoints;
+import mc.leaf.modules.waypoints.teleport.WaypointTeleporter;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+
+public class HomeStarCommand implements CommandExecutor, TabCompleter {
+
+    private final WaypointTeleporter teleporter;
+
+    public HomeStarCommand(WaypointTeleporter teleporter) {
+
+        this.teleporter = teleporter;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(LeafWaypoints.PREFIX + " Only players can use a teleportation star.");
+            return true;
+        }
+
+        switch (this.teleporter.quickTeleport(player)) {
+            case NO_STAR -> player.sendMessage(LeafWaypoints.PREFIX + " You don't have any teleportation star in your inventory.");
+            case NOT_OWNER -> player.sendMessage(LeafWaypoints.PREFIX + " None of the teleportation stars in your inventory belongs to you.");
+        }
+        return true;
+    }
+
+    @Override
+    public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, @NotNull String[] args) {
+
+        return Collections.emptyList();
+    }
+
+}
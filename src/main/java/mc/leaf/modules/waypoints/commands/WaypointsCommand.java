@@ -0,0 +1,143 @@
+package mc.leaf.modules.waypoints.commands;
+
+import mc.leaf.modules.waypoints.LeafWaypoints;
+import mc.leaf.modules.waypoints.LeafWaypointsModule;
+import mc.leaf.modules.waypoints.offline.RegionScanner;
+import mc.leaf.modules.waypoints.offline.StarStatistics;
+import org.bukkit.World;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+public class WaypointsCommand implements CommandExecutor, TabCompleter {
+
+    private static final List<String> SUB_COMMANDS = List.of("reload", "scan");
+
+    private final LeafWaypointsModule module;
+    private final AtomicBoolean       scanning = new AtomicBoolean(false);
+
+    public WaypointsCommand(LeafWaypointsModule module) {
+
+        this.module = module;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+
+        if (args.length == 0) {
+            return false;
+        }
+
+        if (args[0].equalsIgnoreCase("reload")) {
+            this.reload(sender);
+            return true;
+        }
+
+        if (args[0].equalsIgnoreCase("scan")) {
+            this.scan(sender);
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, @NotNull String[] args) {
+
+        if (args.length == 1) {
+            return SUB_COMMANDS.stream().filter(name -> name.startsWith(args[0].toLowerCase())).toList();
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Reload the configuration file. The current configuration is kept if the new one is invalid.
+     *
+     * @param sender
+     *         The {@link CommandSender} that will receive the result.
+     */
+    private void reload(CommandSender sender) {
+
+        try {
+            this.module.reload();
+            sender.sendMessage(LeafWaypoints.PREFIX + " The configuration has been reloaded.");
+        } catch (IllegalArgumentException e) {
+            sender.sendMessage(LeafWaypoints.PREFIX + " Invalid configuration, nothing has been changed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Scan the region files of every loaded world for teleportation stars, without rewriting anything: stars can only
+     * be migrated while the server is stopped, using {@link RegionScanner#main(String[])}.
+     * <p>
+     * Worlds are saved and their autosave is disabled until the scan ends, so that region files are not rewritten while
+     * they are being read. Chunks unloaded during the scan are still saved by the server and may be reported as
+     * unreadable.
+     *
+     * @param sender
+     *         The {@link CommandSender} that will receive the report.
+     */
+    private void scan(CommandSender sender) {
+
+        if (!this.scanning.compareAndSet(false, true)) {
+            sender.sendMessage(LeafWaypoints.PREFIX + " A scan is already running.");
+            return;
+        }
+
+        List<World>         worlds   = this.module.getPlugin().getServer().getWorlds();
+        Map<World, Boolean> autoSave = new HashMap<>();
+        for (World world : worlds) {
+            world.save();
+            autoSave.put(world, world.isAutoSave());
+            world.setAutoSave(false);
+        }
+
+        List<Path> roots = worlds.stream()
+                .map(World::getWorldFolder)
+                .map(File::toPath)
+                .toList();
+
+        sender.sendMessage(LeafWaypoints.PREFIX + " Scanning region files... Autosave is disabled until the scan ends.");
+
+        this.module.getPlugin().getServer().getScheduler().runTaskAsynchronously(this.module.getPlugin(), () -> {
+            ForkJoinPool pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+            try {
+                RegionScanner  scanner    = new RegionScanner(pool, null, this.module.getPlugin().getLogger());
+                StarStatistics statistics = scanner.scan(roots);
+                this.reply(sender, statistics.report());
+            } catch (Exception | InternalError e) {
+                // InternalError is thrown when a memory-mapped region file is truncated while being read.
+                this.module.getPlugin().getLogger().log(Level.WARNING, "Unable to scan region files.", e);
+                this.reply(sender, List.of("An error occurred while scanning region files."));
+            } finally {
+                pool.shutdown();
+                this.module.getPlugin().getServer().getScheduler().runTask(this.module.getPlugin(), () -> {
+                    autoSave.forEach(World::setAutoSave);
+                    this.scanning.set(false);
+                });
+            }
+        });
+    }
+
+    private void reply(CommandSender sender, List<String> lines) {
+
+        this.module.getPlugin().getServer().getScheduler().runTask(this.module.getPlugin(), () -> {
+            for (String line : lines) {
+                sender.sendMessage(LeafWaypoints.PREFIX + " " + line);
+            }
+        });
+    }
+
+}
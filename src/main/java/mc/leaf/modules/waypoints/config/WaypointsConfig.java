@@ -0,0 +1,214 @@
+package mc.leaf.modules.waypoints.config;
+
+import org.bukkit.Material;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Immutable snapshot of the plugin configuration. A new instance is created on each reload and published as a whole,
+ * so that readers never observe a partially loaded configuration.
+ *
+ * @param cooldown
+ *         The delay between two teleportations with the same star, in milliseconds.
+ * @param bedOnly
+ *         Whether the destination of a star can only be set on a bed.
+ * @param swapHandsQuickTeleport
+ *         Whether swapping hands while sneaking teleports using a star from the inventory.
+ * @param particle
+ *         The {@link Particle} spawned when teleporting.
+ * @param particleCount
+ *         The amount of particles spawned when teleporting.
+ * @param sound
+ *         The {@link Sound} played when teleporting.
+ * @param soundVolume
+ *         The volume of the sound.
+ * @param soundPitch
+ *         The pitch of the sound.
+ * @param recipe
+ *         The {@link RecipeShape} of the teleportation star.
+ */
+public record WaypointsConfig(long cooldown, boolean bedOnly, boolean swapHandsQuickTeleport, Particle particle,
+                              int particleCount, Sound sound, float soundVolume, float soundPitch, RecipeShape recipe) {
+
+    /**
+     * The configuration used when none could be loaded, matching the bundled {@code config.yml}.
+     */
+    public static final WaypointsConfig DEFAULT = new WaypointsConfig(8000L, true, true, Particle.FLAME, 300, Sound.ENTITY_ENDER_DRAGON_FLAP, 2, 1,
+            new RecipeShape(List.of("xo", "oo"), Map.of('x', Material.NETHER_STAR, 'o', Material.ENDER_PEARL)));
+
+    /**
+     * Read and validate a {@link WaypointsConfig} from the provided {@link ConfigurationSection}. Missing values fall
+     * back to {@link #DEFAULT}.
+     *
+     * @param section
+     *         The {@link ConfigurationSection} to read.
+     *
+     * @return A {@link WaypointsConfig}.
+     *
+     * @throws IllegalArgumentException
+     *         If a value is invalid.
+     */
+    @NotNull
+    public static WaypointsConfig from(@NotNull ConfigurationSection section) {
+
+        long cooldown = getWholeNumber(section, "cooldown", DEFAULT.cooldown());
+        if (cooldown < 0) {
+            throw new IllegalArgumentException("cooldown must not be negative.");
+        }
+
+        long particleCount = getWholeNumber(section, "animation.particle-count", DEFAULT.particleCount());
+        if (particleCount < 0 || particleCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("animation.particle-count must be between 0 and %s.", Integer.MAX_VALUE));
+        }
+
+        double soundVolume = getNumber(section, "animation.sound-volume", DEFAULT.soundVolume());
+        if (soundVolume < 0) {
+            throw new IllegalArgumentException("animation.sound-volume must not be negative.");
+        }
+
+        Particle particle = parseEnum(Particle.class, section.getString("animation.particle"), DEFAULT.particle(), "animation.particle");
+        Sound    sound    = parseEnum(Sound.class, section.getString("animation.sound"), DEFAULT.sound(), "animation.sound");
+
+        // Particles such as DUST or BLOCK_CRACK can't be spawned without their data, which can't be configured.
+        if (particle.getDataType() != Void.class) {
+            throw new IllegalArgumentException(String.format("animation.particle: '%s' requires additional data and cannot be used.", particle.name()));
+        }
+
+        return new WaypointsConfig(
+                cooldown,
+                getBoolean(section, "bed-only", DEFAULT.bedOnly()),
+                getBoolean(section, "quick-teleport.swap-hands", DEFAULT.swapHandsQuickTeleport()),
+                particle,
+                (int) particleCount,
+                sound,
+                (float) soundVolume,
+                (float) getNumber(section, "animation.sound-pitch", DEFAULT.soundPitch()),
+                RecipeShape.from(section.getConfigurationSection("recipe"))
+        );
+    }
+
+    // The getters of ConfigurationSection silently return the default value when a value has the wrong type, which
+    // would hide typos such as "cooldown: 8s".
+
+    private static long getWholeNumber(ConfigurationSection section, String path, long fallback) {
+
+        Object value = section.get(path);
+
+        if (value == null) {
+            return fallback;
+        }
+        if (!(value instanceof Integer) && !(value instanceof Long)) {
+            throw new IllegalArgumentException(String.format("%s: '%s' is not a whole number.", path, value));
+        }
+        return ((Number) value).longValue();
+    }
+
+    private static double getNumber(ConfigurationSection section, String path, double fallback) {
+
+        Object value = section.get(path);
+
+        if (value == null) {
+            return fallback;
+        }
+        if (!(value instanceof Number number)) {
+            throw new IllegalArgumentException(String.format("%s: '%s' is not a number.", path, value));
+        }
+        return number.doubleValue();
+    }
+
+    private static boolean getBoolean(ConfigurationSection section, String path, boolean fallback) {
+
+        Object value = section.get(path);
+
+        if (value == null) {
+            return fallback;
+        }
+        if (!(value instanceof Boolean bool)) {
+            throw new IllegalArgumentException(String.format("%s: '%s' is not true or false.", path, value));
+        }
+        return bool;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, E fallback, String path) {
+
+        if (value == null) {
+            return fallback;
+        }
+
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("%s: Unknown value '%s'.", path, value));
+        }
+    }
+
+    /**
+     * Shape and ingredients of the teleportation star recipe.
+     *
+     * @param shape
+     *         The rows of the recipe, as expected by {@link org.bukkit.inventory.ShapedRecipe#shape(String...)}.
+     * @param ingredients
+     *         The {@link Material} associated with each character of the shape.
+     */
+    public record RecipeShape(List<String> shape, Map<Character, Material> ingredients) {
+
+        @NotNull
+        public static RecipeShape from(ConfigurationSection section) {
+
+            if (section == null) {
+                return DEFAULT.recipe();
+            }
+
+            List<String> shape = section.getStringList("shape");
+            if (shape.isEmpty() || shape.size() > 3) {
+                throw new IllegalArgumentException("recipe.shape must contain between 1 and 3 rows.");
+            }
+
+            int width = shape.get(0).length();
+            for (String row : shape) {
+                if (row.isEmpty() || row.length() > 3 || row.length() != width) {
+                    throw new IllegalArgumentException("recipe.shape rows must all have the same length, between 1 and 3.");
+                }
+            }
+
+            ConfigurationSection ingredientSection = section.getConfigurationSection("ingredients");
+            if (ingredientSection == null) {
+                throw new IllegalArgumentException("recipe.ingredients is missing.");
+            }
+
+            Map<Character, Material> ingredients = new HashMap<>();
+            for (String key : ingredientSection.getKeys(false)) {
+                if (key.length() != 1) {
+                    throw new IllegalArgumentException(String.format("recipe.ingredients: '%s' must be a single character.", key));
+                }
+
+                Material material = Material.matchMaterial(ingredientSection.getString(key, ""));
+                if (material == null || !material.isItem() || material.isAir()) {
+                    throw new IllegalArgumentException(String.format("recipe.ingredients.%s: Unknown item '%s'.", key, ingredientSection.getString(key)));
+                }
+                ingredients.put(key.charAt(0), material);
+            }
+
+            String symbols = String.join("", shape);
+            for (char ingredient : symbols.toCharArray()) {
+                if (ingredient != ' ' && !ingredients.containsKey(ingredient)) {
+                    throw new IllegalArgumentException(String.format("recipe.shape: No ingredient defined for '%s'.", ingredient));
+                }
+            }
+
+            for (char ingredient : ingredients.keySet()) {
+                if (symbols.indexOf(ingredient) == -1) {
+                    throw new IllegalArgumentException(String.format("recipe.ingredients.%s: Not used in recipe.shape.", ingredient));
+                }
+            }
+
+            return new RecipeShape(List.copyOf(shape), Map.copyOf(ingredients));
+        }
+
+    }
+
+}
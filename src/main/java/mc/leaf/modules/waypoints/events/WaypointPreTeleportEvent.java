@@ -0,0 +1,111 @@
+package mc.leaf.modules.waypoints.events;
+
+import mc.leaf.modules.waypoints.items.GhostTeleporterTag;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Called when a {@link Player} is about to use a teleportation star, before the cooldown is consumed.
+ * <p>
+ * Cancelling this event aborts the teleportation without consuming the cooldown. The destination can be changed for
+ * this teleportation only; the destination stored in the star is left untouched. {@link #getTag()} is a copy of the
+ * star's tag: changes made to it are not persisted.
+ */
+public class WaypointPreTeleportEvent extends PlayerEvent implements Cancellable {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final Entity             entity;
+    private final GhostTeleporterTag tag;
+    private       Location           destination;
+    private       boolean            cancelled;
+
+    public WaypointPreTeleportEvent(@NotNull Player player, @NotNull Entity entity, @NotNull GhostTeleporterTag tag, @NotNull Location destination) {
+
+        super(player);
+        this.entity      = entity;
+        this.tag         = tag;
+        this.destination = destination;
+    }
+
+    @NotNull
+    public static HandlerList getHandlerList() {
+
+        return HANDLERS;
+    }
+
+    /**
+     * Retrieve the {@link Entity} that will be teleported. This is the {@link Player} itself unless the star has been
+     * used on another entity.
+     *
+     * @return An {@link Entity}.
+     */
+    @NotNull
+    public Entity getEntity() {
+
+        return this.entity;
+    }
+
+    /**
+     * Retrieve a copy of the {@link GhostTeleporterTag} of the star being used. Changes made to it are not persisted,
+     * use {@link #setDestination(Location)} to change where the {@link Entity} will be teleported.
+     *
+     * @return A {@link GhostTeleporterTag}.
+     */
+    @NotNull
+    public GhostTeleporterTag getTag() {
+
+        return this.tag;
+    }
+
+    /**
+     * Retrieve the {@link Location} where the {@link Entity} will be teleported.
+     *
+     * @return A {@link Location}.
+     */
+    @NotNull
+    public Location getDestination() {
+
+        return this.destination;
+    }
+
+    /**
+     * Change the {@link Location} where the {@link Entity} will be teleported.
+     *
+     * @param destination
+     *         The new destination, which must have a world.
+     */
+    public void setDestination(@NotNull Location destination) {
+
+        Objects.requireNonNull(destination, "The destination cannot be null.");
+        Objects.requireNonNull(destination.getWorld(), "The destination must have a world.");
+        this.destination = destination;
+    }
+
+    @Override
+    public boolean isCancelled() {
+
+        return this.cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancel) {
+
+        this.cancelled = cancel;
+    }
+
+    @NotNull
+    @Override
+    public HandlerList getHandlers() {
+
+        return HANDLERS;
+    }
+
+}
@@ -0,0 +1,90 @@
+package mc.leaf.modules.waypoints.events;
+
+import mc.leaf.modules.waypoints.items.GhostTeleporterTag;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called after a {@link Player} successfully used a teleportation star.
+ */
+public class WaypointTeleportedEvent extends PlayerEvent {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final Entity             entity;
+    private final GhostTeleporterTag tag;
+    private final Location           from;
+    private final Location           to;
+
+    public WaypointTeleportedEvent(@NotNull Player player, @NotNull Entity entity, @NotNull GhostTeleporterTag tag, @NotNull Location from, @NotNull Location to) {
+
+        super(player);
+        this.entity = entity;
+        this.tag    = tag;
+        this.from   = from;
+        this.to     = to;
+    }
+
+    @NotNull
+    public static HandlerList getHandlerList() {
+
+        return HANDLERS;
+    }
+
+    /**
+     * Retrieve the {@link Entity} that has been teleported.
+     *
+     * @return An {@link Entity}.
+     */
+    @NotNull
+    public Entity getEntity() {
+
+        return this.entity;
+    }
+
+    /**
+     * Retrieve a copy of the {@link GhostTeleporterTag} of the star that has been used, as persisted after the
+     * teleportation. Changes made to it are not persisted.
+     *
+     * @return A {@link GhostTeleporterTag}.
+     */
+    @NotNull
+    public GhostTeleporterTag getTag() {
+
+        return this.tag;
+    }
+
+    /**
+     * Retrieve the {@link Location} of the {@link Entity} before the teleportation.
+     *
+     * @return A {@link Location}.
+     */
+    @NotNull
+    public Location getFrom() {
+
+        return this.from;
+    }
+
+    /**
+     * Retrieve the {@link Location} where the {@link Entity} has been teleported.
+     *
+     * @return A {@link Location}.
+     */
+    @NotNull
+    public Location getTo() {
+
+        return this.to;
+    }
+
+    @NotNull
+    @Override
+    public HandlerList getHandlers() {
+
+        return HANDLERS;
+    }
+
+}
@@ -16,6 +16,7 @@ import org.bukkit.OfflinePlayer;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataHolder;
+import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
@@ -25,6 +26,8 @@ import java.util.UUID;
 
 public class GhostTeleporterTag implements Persistable<LeafWaypointsModule> {
 
+    private static volatile Codec codec;
+
     private final LeafWaypointsModule module;
 
     @Persist(key = "location")
@@ -53,9 +56,25 @@ public class GhostTeleporterTag implements Persistable<LeafWaypointsModule> {
      */
     public static Optional<GhostTeleporterTag> from(LeafWaypointsModule module, PersistentDataHolder holder) {
 
-        EntityPersistence       handler   = new EntityPersistence(module);
+        Codec                   codec     = GhostTeleporterTag.codec(module);
         PersistentDataContainer container = holder.getPersistentDataContainer();
-        return Optional.ofNullable(container.get(GhostTeleporterTag.getNamespacedKey(module), handler));
+        return Optional.ofNullable(container.get(codec.key(), codec.handler()));
+    }
+
+    /**
+     * Check if the provided {@link PersistentDataHolder} contains this {@link Persistable} entity, without decoding
+     * it.
+     *
+     * @param module
+     *         The {@link Module} associated with this {@link Persistable} entity.
+     * @param holder
+     *         The {@link PersistentDataHolder} that may contain this {@link Persistable} entity.
+     *
+     * @return True if a {@link GhostTeleporterTag} is present, false otherwise.
+     */
+    public static boolean isPresent(LeafWaypointsModule module, PersistentDataHolder holder) {
+
+        return holder.getPersistentDataContainer().has(GhostTeleporterTag.codec(module).key(), PersistentDataType.TAG_CONTAINER);
     }
 
     /**
@@ -68,7 +87,29 @@ public class GhostTeleporterTag implements Persistable<LeafWaypointsModule> {
      */
     public static NamespacedKey getNamespacedKey(LeafWaypointsModule module) {
 
-        return new NamespacedKey(module.getPlugin(), "teleporter.ghost");
+        return GhostTeleporterTag.codec(module).key();
+    }
+
+    /**
+     * Retrieve the {@link NamespacedKey} and {@link PersistentHandler} associated with the provided {@link Module}.
+     * Both are immutable and only created once, as they are needed each time a star is read or written.
+     *
+     * @param module
+     *         The {@link Module} associated with this {@link Persistable} entity.
+     *
+     * @return A {@link Codec}.
+     */
+    private static Codec codec(LeafWaypointsModule module) {
+
+        Codec current = codec;
+
+        if (current == null || current.module() != module) {
+            NamespacedKey key = new NamespacedKey(module.getPlugin(), "teleporter.ghost");
+            current = new Codec(module, key, new EntityPersistence(module));
+            codec   = current;
+        }
+
+        return current;
     }
 
     public Location getLocation() {
@@ -101,6 +142,51 @@ public class GhostTeleporterTag implements Persistable<LeafWaypointsModule> {
         this.lastTeleport = lastTeleport;
     }
 
+    /**
+     * Create a detached copy of this {@link GhostTeleporterTag}. Changes made to the copy are not reflected on this
+     * instance, and are only stored in a star if the copy is persisted.
+     *
+     * @return A {@link GhostTeleporterTag}.
+     */
+    public GhostTeleporterTag copy() {
+
+        GhostTeleporterTag copy = new GhostTeleporterTag(this.module);
+        copy.setLocation(this.getLocation() == null ? null : this.getLocation().clone());
+        copy.setOwner(this.getOwner());
+        copy.setLastTeleport(this.getLastTeleport());
+        return copy;
+    }
+
+    /**
+     * Check if the provided player is allowed to manage this teleportation star. Stars without owner can be managed by
+     * anyone.
+     *
+     * @param uuid
+     *         The {@link UUID} of the player.
+     *
+     * @return True if the player is the owner of this star or if it has no owner, false otherwise.
+     */
+    public boolean isOwner(UUID uuid) {
+
+        return this.getOwner() == null || this.getOwner().equals(uuid);
+    }
+
+    /**
+     * Retrieve the time left before this teleportation star can be used again.
+     *
+     * @param cooldown
+     *         The cooldown between two teleportations, in milliseconds.
+     *
+     * @return The remaining time in milliseconds. Zero or less if the star can be used.
+     */
+    public long getCooldownLeft(long cooldown) {
+
+        if (this.getLastTeleport() == null) {
+            return 0;
+        }
+        return (this.getLastTeleport() + cooldown) - System.currentTimeMillis();
+    }
+
     /**
      * Write this {@link Persistable} entity into the provided {@link PersistentDataHolder}.
      *
@@ -110,9 +196,9 @@ public class GhostTeleporterTag implements Persistable<LeafWaypointsModule> {
     @Override
     public void persist(@NotNull PersistentDataHolder holder) {
 
-        EntityPersistence       handler   = new EntityPersistence(this.getModule());
+        Codec                   codec     = GhostTeleporterTag.codec(this.getModule());
         PersistentDataContainer container = holder.getPersistentDataContainer();
-        container.set(GhostTeleporterTag.getNamespacedKey(this.getModule()), handler, this);
+        container.set(codec.key(), codec.handler(), this);
 
         if (holder instanceof ItemMeta meta) {
 
@@ -182,4 +268,8 @@ public class GhostTeleporterTag implements Persistable<LeafWaypointsModule> {
 
     }
 
+    private record Codec(LeafWaypointsModule module, NamespacedKey key, EntityPersistence handler) {
+
+    }
+
 }
@@ -0,0 +1,143 @@
+package mc.leaf.modules.waypoints.listeners;
+
+import mc.leaf.core.events.LeafListener;
+import mc.leaf.modules.waypoints.LeafWaypointsModule;
+import mc.leaf.modules.waypoints.teleport.StarIndex;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.*;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.function.Consumer;
+
+/**
+ * Keeps the {@link StarIndex} up to date. Inventory events are fired before the inventory is modified, so affected
+ * slots are indexed again on the next tick.
+ */
+public class StarIndexListener extends LeafListener {
+
+    private static final int OFF_HAND_SLOT = 40;
+
+    private final LeafWaypointsModule module;
+    private final StarIndex           index;
+
+    public StarIndexListener(LeafWaypointsModule module, StarIndex index) {
+
+        this.module = module;
+        this.index  = index;
+    }
+
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+
+        this.index.rebuild(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+
+        this.index.remove(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+
+        this.later(event.getPlayer(), this.index::rebuild);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+
+        if (!(event.getWhoClicked() instanceof Player player)) {
+            return;
+        }
+
+        boolean playerInventory = event.getClickedInventory() instanceof PlayerInventory;
+        int     slot            = event.getSlot();
+
+        switch (event.getAction()) {
+            case NOTHING, CLONE_STACK -> {
+                // The inventory is left untouched.
+            }
+            case PICKUP_ALL, PICKUP_HALF, PICKUP_ONE, PICKUP_SOME, PLACE_ALL, PLACE_ONE, PLACE_SOME, SWAP_WITH_CURSOR, DROP_ALL_SLOT, DROP_ONE_SLOT -> {
+                if (playerInventory) {
+                    this.later(player, target -> this.index.update(target, slot));
+                }
+            }
+            case HOTBAR_SWAP, HOTBAR_MOVE_AND_READD -> {
+                int button = event.getHotbarButton();
+                this.later(player, target -> {
+                    this.index.update(target, button == -1 ? OFF_HAND_SLOT : button);
+                    if (playerInventory) {
+                        this.index.update(target, slot);
+                    }
+                });
+            }
+            default -> this.later(player, this.index::rebuild); // Items may have been moved to any slot.
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent event) {
+
+        if (!(event.getWhoClicked() instanceof Player player)) {
+            return;
+        }
+
+        InventoryView view = event.getView();
+        int[] slots = event.getRawSlots().stream()
+                .filter(raw -> view.getInventory(raw) instanceof PlayerInventory)
+                .mapToInt(view::convertSlot)
+                .toArray();
+
+        if (slots.length > 0) {
+            this.later(player, target -> {
+                for (int slot : slots) {
+                    this.index.update(target, slot);
+                }
+            });
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityPickupItem(EntityPickupItemEvent event) {
+
+        if (event.getEntity() instanceof Player player && this.index.isStar(event.getItem().getItemStack())) {
+            this.later(player, this.index::rebuild); // The picked up star may be split across several slots.
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerDropItem(PlayerDropItemEvent event) {
+
+        if (this.index.isStar(event.getItemDrop().getItemStack())) {
+            int slot = event.getPlayer().getInventory().getHeldItemSlot();
+            this.later(event.getPlayer(), target -> this.index.update(target, slot));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerSwapHandItems(PlayerSwapHandItemsEvent event) {
+
+        int slot = event.getPlayer().getInventory().getHeldItemSlot();
+        this.later(event.getPlayer(), target -> {
+            this.index.update(target, slot);
+            this.index.update(target, OFF_HAND_SLOT);
+        });
+    }
+
+    private void later(Player player, Consumer<Player> action) {
+
+        this.module.getPlugin().getServer().getScheduler().runTask(this.module.getPlugin(), () -> {
+            if (player.isOnline()) {
+                action.accept(player);
+            }
+        });
+    }
+
+}
@@ -3,32 +3,35 @@ package mc.leaf.modules.waypoints.listeners;
 import mc.leaf.core.events.LeafListener;
 import mc.leaf.modules.waypoints.LeafWaypoints;
 import mc.leaf.modules.waypoints.LeafWaypointsModule;
+import mc.leaf.modules.waypoints.config.WaypointsConfig;
 import mc.leaf.modules.waypoints.items.GhostTeleporterTag;
-import org.bukkit.Location;
+import mc.leaf.modules.waypoints.teleport.WaypointTeleporter;
 import org.bukkit.Material;
-import org.bukkit.Particle;
-import org.bukkit.Sound;
+import org.bukkit.Tag;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
-import java.util.Arrays;
-import java.util.List;
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.Set;
 
 public class WaypointListener extends LeafListener {
 
     private final LeafWaypointsModule module;
-    private final List<Action>        allowedActions = Arrays.asList(Action.RIGHT_CLICK_AIR, Action.RIGHT_CLICK_BLOCK);
+    private final WaypointTeleporter  teleporter;
+    private final Set<Action>         allowedActions = EnumSet.of(Action.RIGHT_CLICK_AIR, Action.RIGHT_CLICK_BLOCK);
 
-    public WaypointListener(LeafWaypointsModule module) {
+    public WaypointListener(LeafWaypointsModule module, WaypointTeleporter teleporter) {
 
-        this.module = module;
+        this.module     = module;
+        this.teleporter = teleporter;
     }
 
     @EventHandler
@@ -39,7 +42,8 @@ public class WaypointListener extends LeafListener {
             return;
         }
 
-        if (event.getItem() == null || event.getItem().getItemMeta() == null) {
+        // Teleportation stars always carry meta: skip plain items before cloning their meta.
+        if (event.getItem() == null || !event.getItem().hasItemMeta()) {
             return;
         }
 
@@ -57,11 +61,12 @@ public class WaypointListener extends LeafListener {
             return;
         }
 
-        GhostTeleporterTag tag = optionalTag.get();
+        GhostTeleporterTag tag    = optionalTag.get();
+        WaypointsConfig    config = this.module.getConfiguration();
 
         if (event.getPlayer().isSneaking() && event.getAction() == Action.RIGHT_CLICK_BLOCK) { // Rewrite location mode
 
-            if (tag.getOwner() != null && !event.getPlayer().getUniqueId().equals(tag.getOwner())) {
+            if (!tag.isOwner(event.getPlayer().getUniqueId())) {
                 event.getPlayer()
                         .sendMessage(LeafWaypoints.PREFIX + " Only the owner can change the destination of the teleportation star.");
                 return;
@@ -74,7 +79,7 @@ public class WaypointListener extends LeafListener {
                 return;
             }
 
-            if (!block.getType().name().contains("_BED")) {
+            if (config.bedOnly() && !Tag.BEDS.isTagged(block.getType())) {
                 event.getPlayer().sendMessage(LeafWaypoints.PREFIX + " Only a bed can be used as destination.");
                 return;
             }
@@ -88,27 +93,9 @@ public class WaypointListener extends LeafListener {
             return;
         }
 
-        if (tag.getLocation() == null) {
-            event.getPlayer().sendMessage(LeafWaypoints.PREFIX + " No destination defined.");
-            return;
+        if (this.teleporter.teleport(event.getPlayer(), event.getPlayer(), event.getItem(), meta, tag)) {
+            event.getPlayer().swingMainHand();
         }
-
-        long durationLeft = (tag.getLastTeleport() + 8000) - System.currentTimeMillis();
-
-        if (durationLeft > 0) {
-            event.getPlayer()
-                    .sendMessage(String.format("%s Please wait before teleporting again... (%s seconds remaining)", LeafWaypoints.PREFIX, Math.round(durationLeft / 1000f)));
-            return;
-        }
-
-        tag.setLastTeleport(System.currentTimeMillis());
-        tag.persist(meta);
-        event.getItem().setItemMeta(meta);
-
-        this.playTeleportAnimation(event.getPlayer().getLocation());
-        event.getPlayer().teleport(tag.getLocation());
-        event.getPlayer().swingMainHand();
-        this.playTeleportAnimation(event.getPlayer().getLocation());
     }
 
     @EventHandler
@@ -120,7 +107,7 @@ public class WaypointListener extends LeafListener {
 
         ItemStack stack = player.getInventory().getItemInMainHand();
 
-        if (stack.getType() == Material.AIR || stack.getItemMeta() == null) {
+        if (stack.getType() == Material.AIR || !stack.hasItemMeta()) {
             return;
         }
         ItemMeta meta = stack.getItemMeta();
@@ -132,29 +119,24 @@ public class WaypointListener extends LeafListener {
         }
 
         event.setCancelled(true);
-        GhostTeleporterTag tag = optionalTag.get();
-
-        long durationLeft = (tag.getLastTeleport() + 8000) - System.currentTimeMillis();
 
-        if (durationLeft > 0) {
-            player.sendMessage(String.format("%s Please wait before teleporting again... (%s seconds remaining)", LeafWaypoints.PREFIX, Math.round(durationLeft / 1000f)));
-            return;
+        if (this.teleporter.teleport(player, event.getEntity(), stack, meta, optionalTag.get())) {
+            player.swingMainHand();
         }
-
-        tag.setLastTeleport(System.currentTimeMillis());
-        tag.persist(meta);
-        stack.setItemMeta(meta);
-
-        this.playTeleportAnimation(event.getEntity().getLocation());
-        event.getEntity().teleport(tag.getLocation());
-        player.swingMainHand();
-        this.playTeleportAnimation(event.getEntity().getLocation());
     }
 
-    private void playTeleportAnimation(Location location) {
+    @EventHandler
+    public void onPlayerSwapHandItems(PlayerSwapHandItemsEvent event) {
+
+        // Sneaking while swapping hands teleports using a star from the inventory, without holding it.
+        if (!event.getPlayer().isSneaking() || !this.module.getConfiguration().swapHandsQuickTeleport()) {
+            return;
+        }
 
-        location.getWorld().spawnParticle(Particle.FLAME, location, 300, 0, 1, 0);
-        location.getWorld().playSound(location, Sound.ENTITY_ENDER_DRAGON_FLAP, 2, 1);
+        // Players without a star of their own keep swapping hands as usual.
+        if (this.teleporter.quickTeleport(event.getPlayer()).isStarOwned()) {
+            event.setCancelled(true);
+        }
     }
 
 }
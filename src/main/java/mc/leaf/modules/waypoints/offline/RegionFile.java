@@ -0,0 +1,314 @@
+package mc.leaf.modules.waypoints.offline;
+
+import mc.leaf.modules.waypoints.offline.nbt.NbtCompound;
+import mc.leaf.modules.waypoints.offline.nbt.NbtIO;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Read-only, memory-mapped view of an Anvil region file ({@code .mca}).
+ * <p>
+ * The file is mapped once and chunks are exposed as slices of the mapping, so that they can be decompressed
+ * concurrently without copying. Modified chunks can be written back with {@link #rewrite(Map)}, which lays out a new
+ * file next to the original and atomically replaces it.
+ */
+public final class RegionFile {
+
+    public static final int SECTOR_SIZE = 4096;
+    public static final int CHUNK_COUNT = 1024;
+
+    public static final byte COMPRESSION_GZIP     = 1;
+    public static final byte COMPRESSION_ZLIB     = 2;
+    public static final byte COMPRESSION_NONE     = 3;
+    public static final byte COMPRESSION_EXTERNAL = (byte) 0x80;
+
+    private final Path       path;
+    private final ByteBuffer buffer;
+
+    private RegionFile(Path path, ByteBuffer buffer) {
+
+        this.path   = path;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Map the provided region file in memory.
+     *
+     * @param path
+     *         The {@link Path} of the region file.
+     *
+     * @return A {@link RegionFile}.
+     *
+     * @throws IOException
+     *         If the file could not be mapped or is too small to contain a header.
+     */
+    @NotNull
+    public static RegionFile open(@NotNull Path path) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if (size < 2L * SECTOR_SIZE) {
+                throw new IOException("Unable to open region: The file is too small to contain a header.");
+            }
+
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Unable to open region: The file is too large.");
+            }
+
+            return new RegionFile(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Encode the provided chunk compound as it would be stored in a region file: length, compression type and zlib
+     * compressed payload.
+     *
+     * @param compound
+     *         The chunk {@link NbtCompound}.
+     *
+     * @return The encoded chunk.
+     *
+     * @throws IOException
+     *         If the compound could not be encoded.
+     */
+    @NotNull
+    public static byte[] encode(@NotNull NbtCompound compound) throws IOException {
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(compressed)))) {
+            NbtIO.write(output, compound);
+        }
+
+        ByteArrayOutputStream framed = new ByteArrayOutputStream(compressed.size() + 5);
+        DataOutputStream      output = new DataOutputStream(framed);
+        output.writeInt(compressed.size() + 1);
+        output.writeByte(COMPRESSION_ZLIB);
+        compressed.writeTo(output);
+        return framed.toByteArray();
+    }
+
+    @NotNull
+    public Path getPath() {
+
+        return this.path;
+    }
+
+    /**
+     * Retrieve every chunk present in this region file. Header entries pointing outside the file are ignored.
+     *
+     * @return A {@link List} of {@link Chunk}.
+     */
+    @NotNull
+    public List<Chunk> chunks() {
+
+        List<Chunk> chunks = new ArrayList<>();
+
+        for (int index = 0; index < CHUNK_COUNT; index++) {
+            int location = this.buffer.getInt(index * 4);
+            int sector   = location >>> 8;
+
+            if (sector < 2) {
+                continue;
+            }
+
+            long position = (long) sector * SECTOR_SIZE;
+            if (position + 5 > this.buffer.limit()) {
+                continue;
+            }
+
+            int length = this.buffer.getInt((int) position);
+            if (length < 1 || position + 4 + length > this.buffer.limit()) {
+                continue;
+            }
+
+            int timestamp = this.buffer.getInt(SECTOR_SIZE + index * 4);
+            chunks.add(new Chunk(index, timestamp, (int) position, length));
+        }
+
+        return chunks;
+    }
+
+    /**
+     * Decompress and parse the provided chunk.
+     *
+     * @param chunk
+     *         The {@link Chunk} to read.
+     *
+     * @return The chunk {@link NbtCompound}.
+     *
+     * @throws IOException
+     *         If the chunk is stored externally, uses an unknown compression or is corrupted.
+     */
+    @NotNull
+    public NbtCompound read(@NotNull Chunk chunk) throws IOException {
+
+        byte compression = this.buffer.get(chunk.position() + 4);
+
+        if ((compression & COMPRESSION_EXTERNAL) != 0) {
+            throw new IOException(String.format("Unable to read chunk %s: The chunk is stored in an external file.", chunk.index()));
+        }
+
+        InputStream payload = new ByteBufferInputStream(this.buffer.slice(chunk.position() + 5, chunk.length() - 1));
+
+        InputStream stream = switch (compression) {
+            case COMPRESSION_GZIP -> new GZIPInputStream(payload);
+            case COMPRESSION_ZLIB -> new InflaterInputStream(payload);
+            case COMPRESSION_NONE -> payload;
+            default -> throw new IOException(String.format("Unable to read chunk %s: Unsupported compression type %s.", chunk.index(), compression));
+        };
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(stream))) {
+            return NbtIO.read(input);
+        }
+    }
+
+    /**
+     * Write this region file back to disk, replacing the provided chunks. Chunks that are not replaced are copied as-is
+     * from the current mapping, along with every timestamp. A replacement that does not fit in a region file (more
+     * than 255 sectors) is ignored and the original chunk is kept.
+     * <p>
+     * The new file is written next to the original ({@code .mca.tmp}) and then moved over it while this instance still
+     * maps the original. Java offers no way to release a mapping: on Windows, replacing a mapped file fails and an
+     * {@link IOException} is thrown. The original file is then left untouched and the rewritten copy is kept as
+     * {@code .mca.tmp}, to be moved in place by hand once the process has exited.
+     *
+     * @param replacements
+     *         Encoded chunks (see {@link #encode(NbtCompound)}) by chunk index.
+     *
+     * @return The indexes of the replacements that have been written.
+     *
+     * @throws IOException
+     *         If the new file could not be written or moved.
+     */
+    @NotNull
+    public Set<Integer> rewrite(@NotNull Map<Integer, byte[]> replacements) throws IOException {
+
+        List<Chunk>  chunks    = this.chunks();
+        ByteBuffer   header    = ByteBuffer.allocate(2 * SECTOR_SIZE);
+        Path         temporary = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        Set<Integer> written   = new HashSet<>();
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int sector = 2;
+            channel.position((long) sector * SECTOR_SIZE);
+
+            for (Chunk chunk : chunks) {
+                ByteBuffer data        = this.raw(chunk);
+                byte[]     replacement = replacements.get(chunk.index());
+
+                if (replacement != null && sectorsOf(replacement.length) <= 0xFF) {
+                    data = ByteBuffer.wrap(replacement);
+                    written.add(chunk.index());
+                }
+
+                int sectors = sectorsOf(data.remaining());
+                header.putInt(chunk.index() * 4, (sector << 8) | sectors);
+                header.putInt(SECTOR_SIZE + chunk.index() * 4, chunk.timestamp());
+
+                int padding = sectors * SECTOR_SIZE - data.remaining();
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+                channel.write(ByteBuffer.allocate(padding));
+                sector += sectors;
+            }
+
+            header.rewind();
+            channel.position(0);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            channel.force(true);
+        }
+
+        Files.move(temporary, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return written;
+    }
+
+    /**
+     * Retrieve the stored bytes of the provided chunk: length, compression type and compressed payload.
+     *
+     * @param chunk
+     *         The {@link Chunk} to read.
+     *
+     * @return A read-only {@link ByteBuffer} backed by the mapping.
+     */
+    @NotNull
+    ByteBuffer raw(@NotNull Chunk chunk) {
+
+        return this.buffer.slice(chunk.position(), chunk.length() + 4).asReadOnlyBuffer();
+    }
+
+    private static int sectorsOf(int length) {
+
+        return (length + SECTOR_SIZE - 1) / SECTOR_SIZE;
+    }
+
+    /**
+     * A chunk entry of a region file.
+     *
+     * @param index
+     *         The index of the chunk in the region header ({@code x + z * 32}).
+     * @param timestamp
+     *         The last modification timestamp of the chunk, in seconds.
+     * @param position
+     *         The byte offset of the chunk in the region file.
+     * @param length
+     *         The length of the chunk data, including the compression type byte.
+     */
+    public record Chunk(int index, int timestamp, int position, int length) {
+
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        public ByteBufferInputStream(ByteBuffer buffer) {
+
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+
+            if (length == 0) {
+                return 0;
+            }
+
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+
+            int count = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+
+            return this.buffer.remaining();
+        }
+
+    }
+
+}
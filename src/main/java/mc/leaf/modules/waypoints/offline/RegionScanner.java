@@ -0,0 +1,349 @@
+package mc.leaf.modules.waypoints.offline;
+
+import mc.leaf.modules.waypoints.offline.nbt.NbtCompound;
+import mc.leaf.modules.waypoints.offline.nbt.NbtIO;
+import mc.leaf.modules.waypoints.offline.nbt.NbtList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Offline scanner looking for teleportation stars in region files ({@code .mca}), including chunks that are never
+ * loaded by the server: chests, shulker boxes, item frames, dropped items...
+ * <p>
+ * Region files are memory-mapped and their chunks are decompressed in parallel on a {@link ForkJoinPool}. When a
+ * {@link StarMigration} is provided, chunks containing stars modified by the migration are re-encoded and the region
+ * file is rewritten: this must only be done while no server is using the world. When rewriting from the command line,
+ * the {@code session.lock} of each world folder is locked first, like the server does, and worlds still in use are
+ * skipped.
+ * <p>
+ * This class does not depend on the server and can be run from the command line:
+ * <pre>java -cp LeafWaypoints.jar mc.leaf.modules.waypoints.offline.RegionScanner [--rewrite] [--threads N] &lt;world folder&gt;...</pre>
+ */
+public class RegionScanner {
+
+    public static final String NAMESPACE         = "leafwaypoints";
+    public static final String GHOST_KEY         = NAMESPACE + ":teleporter.ghost";
+    public static final String LOCATION_KEY      = NAMESPACE + ":location";
+    public static final String OWNER_KEY         = NAMESPACE + ":owner";
+    public static final String LAST_TELEPORT_KEY = NAMESPACE + ":last.teleportation";
+
+    private static final String BUKKIT_VALUES = "PublicBukkitValues";
+    private static final String SESSION_LOCK  = "session.lock";
+
+    private final ForkJoinPool  pool;
+    private final StarMigration migration;
+    private final Logger        logger;
+
+    /**
+     * Create a new {@link RegionScanner}.
+     *
+     * @param pool
+     *         The {@link ForkJoinPool} on which region files and chunks will be processed.
+     * @param migration
+     *         The {@link StarMigration} to apply, or {@code null} to only collect statistics.
+     * @param logger
+     *         The {@link Logger} receiving unreadable chunk and region warnings.
+     */
+    public RegionScanner(@NotNull ForkJoinPool pool, @Nullable StarMigration migration, @NotNull Logger logger) {
+
+        this.pool      = pool;
+        this.migration = migration;
+        this.logger    = logger;
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        List<Path> roots   = new ArrayList<>();
+        boolean    rewrite = false;
+        int        threads = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--rewrite" -> rewrite = true;
+                case "--threads" -> {
+                    if (++i == args.length) {
+                        usage();
+                    }
+                    try {
+                        threads = Integer.parseInt(args[i]);
+                    } catch (NumberFormatException e) {
+                        usage();
+                    }
+                    if (threads < 1) {
+                        usage();
+                    }
+                }
+                default -> roots.add(Paths.get(args[i]));
+            }
+        }
+
+        if (roots.isEmpty()) {
+            usage();
+        }
+
+        ForkJoinPool      pool  = new ForkJoinPool(threads);
+        List<FileChannel> locks = new ArrayList<>();
+        try {
+            List<Path> accepted = roots;
+
+            if (rewrite) {
+                accepted = new ArrayList<>();
+                for (Path root : roots) {
+                    FileChannel lock = lockWorld(root);
+
+                    if (lock == null) {
+                        System.err.printf("Skipping %s: The world is in use by a server (%s is locked).%n", root, SESSION_LOCK);
+                        continue;
+                    }
+                    locks.add(lock);
+                    accepted.add(root);
+                }
+            }
+
+            if (accepted.isEmpty()) {
+                System.err.println("No world can be rewritten, nothing has been done.");
+                System.exit(1);
+            }
+
+            RegionScanner  scanner    = new RegionScanner(pool, rewrite ? StarMigration.LATEST : null, Logger.getLogger(RegionScanner.class.getName()));
+            StarStatistics statistics = scanner.scan(accepted);
+            statistics.report().forEach(System.out::println);
+        } finally {
+            pool.shutdown();
+            for (FileChannel lock : locks) {
+                lock.close(); // Also releases the lock.
+            }
+        }
+    }
+
+    /**
+     * Take the {@code session.lock} of the provided world folder, which the server holds for as long as the world is
+     * loaded. The file is created if missing, as the server would do.
+     *
+     * @param root
+     *         The world folder.
+     *
+     * @return The {@link FileChannel} holding the lock, to be closed once done with the world, or {@code null} if the
+     *         lock is held by someone else.
+     *
+     * @throws IOException
+     *         If the lock file could not be opened.
+     */
+    @Nullable
+    public static FileChannel lockWorld(@NotNull Path root) throws IOException {
+
+        FileChannel channel = FileChannel.open(root.resolve(SESSION_LOCK), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            if (channel.tryLock() != null) {
+                return channel;
+            }
+        } catch (OverlappingFileLockException e) {
+            // Already locked by this JVM.
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        channel.close();
+        return null;
+    }
+
+    private static void usage() {
+
+        System.err.println("Usage: RegionScanner [--rewrite] [--threads N] <world folder>...");
+        System.exit(1);
+    }
+
+    /**
+     * Scan every region file found under the provided directories.
+     *
+     * @param roots
+     *         Directories that will be searched recursively for {@code .mca} files, usually world folders.
+     *
+     * @return The collected {@link StarStatistics}.
+     *
+     * @throws IOException
+     *         If the directories could not be listed.
+     */
+    @NotNull
+    public StarStatistics scan(@NotNull Collection<Path> roots) throws IOException {
+
+        List<Path> files = new ArrayList<>();
+
+        for (Path root : roots) {
+            try (Stream<Path> stream = Files.walk(root)) {
+                stream.filter(path -> path.getFileName().toString().endsWith(".mca"))
+                        .filter(Files::isRegularFile)
+                        .forEach(files::add);
+            }
+        }
+
+        StarStatistics   statistics = new StarStatistics();
+        List<RegionTask> tasks      = files.stream().map(path -> new RegionTask(path, statistics)).toList();
+        this.pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+
+                invokeAll(tasks);
+            }
+        });
+        return statistics;
+    }
+
+    /**
+     * Walk the provided NBT value, recording every star found and applying the migration if any.
+     *
+     * @return The number of stars modified by the migration.
+     */
+    private int visit(Object value, StarStatistics statistics) {
+
+        int modified = 0;
+
+        if (value instanceof NbtCompound compound) {
+            NbtCompound ghost = this.findGhost(compound);
+
+            if (ghost != null) {
+                Number count = compound.getNumber("Count");
+                statistics.starFound(ghost, count == null ? 1 : count.intValue());
+
+                if (this.migration != null && this.migration.migrate(ghost)) {
+                    modified++;
+                }
+            }
+
+            // Items can contain other items (shulker boxes, bundles...)
+            for (Map.Entry<String, Object> entry : compound.entrySet()) {
+                modified += this.visit(entry.getValue(), statistics);
+            }
+        } else if (value instanceof NbtList list && (list.elementType() == NbtIO.TAG_LIST || list.elementType() == NbtIO.TAG_COMPOUND)) {
+            for (Object element : list.values()) {
+                modified += this.visit(element, statistics);
+            }
+        }
+
+        return modified;
+    }
+
+    private NbtCompound findGhost(NbtCompound item) {
+
+        if (item.getString("id") == null) {
+            return null;
+        }
+
+        NbtCompound tag = item.getCompound("tag");
+        if (tag == null) {
+            return null;
+        }
+
+        NbtCompound values = tag.getCompound(BUKKIT_VALUES);
+        return values == null ? null : values.getCompound(GHOST_KEY);
+    }
+
+    private class RegionTask extends RecursiveAction {
+
+        private final Path           path;
+        private final StarStatistics statistics;
+
+        public RegionTask(Path path, StarStatistics statistics) {
+
+            this.path       = path;
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected void compute() {
+
+            RegionFile region;
+            try {
+                region = RegionFile.open(this.path);
+            } catch (IOException e) {
+                RegionScanner.this.logger.log(Level.WARNING, String.format("Unable to read region %s: %s", this.path, e.getMessage()));
+                return;
+            }
+
+            this.statistics.regionScanned();
+
+            Map<Integer, byte[]>  replacements = new ConcurrentHashMap<>();
+            Map<Integer, Integer> migrated     = new ConcurrentHashMap<>();
+            List<ChunkTask>       tasks        = region.chunks().stream()
+                    .map(chunk -> new ChunkTask(region, chunk, this.statistics, replacements, migrated))
+                    .toList();
+            invokeAll(tasks);
+
+            if (replacements.isEmpty()) {
+                return;
+            }
+
+            Set<Integer> written;
+            try {
+                written = region.rewrite(replacements);
+            } catch (IOException e) {
+                RegionScanner.this.logger.log(Level.WARNING, String.format("Unable to rewrite region %s, the original file has been kept: %s", this.path, e.getMessage()));
+                return;
+            }
+
+            // Only stars that actually reached the disk are reported as migrated.
+            for (int index : replacements.keySet()) {
+                if (written.contains(index)) {
+                    this.statistics.starsMigrated(migrated.get(index));
+                } else {
+                    RegionScanner.this.logger.log(Level.WARNING, String.format("Unable to rewrite chunk %s of region %s: The migrated chunk is too large, the original has been kept.", index, this.path));
+                }
+            }
+            this.statistics.chunksRewritten(written.size());
+        }
+
+    }
+
+    private class ChunkTask extends RecursiveAction {
+
+        private final RegionFile            region;
+        private final RegionFile.Chunk      chunk;
+        private final StarStatistics        statistics;
+        private final Map<Integer, byte[]>  replacements;
+        private final Map<Integer, Integer> migrated;
+
+        public ChunkTask(RegionFile region, RegionFile.Chunk chunk, StarStatistics statistics, Map<Integer, byte[]> replacements, Map<Integer, Integer> migrated) {
+
+            this.region       = region;
+            this.chunk        = chunk;
+            this.statistics   = statistics;
+            this.replacements = replacements;
+            this.migrated     = migrated;
+        }
+
+        @Override
+        protected void compute() {
+
+            try {
+                NbtCompound root     = this.region.read(this.chunk);
+                int         modified = RegionScanner.this.visit(root, this.statistics);
+                this.statistics.chunkScanned();
+
+                if (modified > 0) {
+                    this.replacements.put(this.chunk.index(), RegionFile.encode(root));
+                    this.migrated.put(this.chunk.index(), modified);
+                }
+            } catch (IOException | RuntimeException e) {
+                this.statistics.chunkFailed();
+                RegionScanner.this.logger.log(Level.WARNING, String.format("Unable to read chunk %s of region %s: %s", this.chunk.index(), this.region.getPath(), e.getMessage()));
+            }
+        }
+
+    }
+
+}
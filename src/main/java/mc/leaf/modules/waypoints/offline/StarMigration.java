@@ -0,0 +1,34 @@
+package mc.leaf.modules.waypoints.offline;
+
+import mc.leaf.modules.waypoints.offline.nbt.NbtCompound;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Rewrites the {@code teleporter.ghost} container of a teleportation star found by the {@link RegionScanner}.
+ */
+@FunctionalInterface
+public interface StarMigration {
+
+    /**
+     * Bring legacy stars to the current encoding: stars crafted before the cooldown was persisted have no
+     * {@code last.teleportation} value, which is now always present.
+     */
+    StarMigration LATEST = ghost -> {
+        if (ghost.getNumber(RegionScanner.LAST_TELEPORT_KEY) instanceof Long) {
+            return false;
+        }
+        ghost.put(RegionScanner.LAST_TELEPORT_KEY, 0L);
+        return true;
+    };
+
+    /**
+     * Update the provided {@code teleporter.ghost} container in place.
+     *
+     * @param ghost
+     *         The {@link NbtCompound} stored under {@link RegionScanner#GHOST_KEY}.
+     *
+     * @return True if the container has been modified, false otherwise.
+     */
+    boolean migrate(@NotNull NbtCompound ghost);
+
+}
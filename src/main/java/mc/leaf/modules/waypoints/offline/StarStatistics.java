@@ -0,0 +1,138 @@
+package mc.leaf.modules.waypoints.offline;
+
+import mc.leaf.modules.waypoints.offline.nbt.NbtCompound;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe statistics collected by a {@link RegionScanner}.
+ */
+public class StarStatistics {
+
+    private final LongAdder regions        = new LongAdder();
+    private final LongAdder chunks         = new LongAdder();
+    private final LongAdder failedChunks   = new LongAdder();
+    private final LongAdder stacks         = new LongAdder();
+    private final LongAdder items          = new LongAdder();
+    private final LongAdder noDestination  = new LongAdder();
+    private final LongAdder unowned        = new LongAdder();
+    private final LongAdder migrated       = new LongAdder();
+    private final LongAdder rewrittenChunk = new LongAdder();
+
+    private final Map<String, LongAdder> destinations = new ConcurrentHashMap<>();
+    private final Set<String>            owners       = ConcurrentHashMap.newKeySet();
+
+    void regionScanned() {
+
+        this.regions.increment();
+    }
+
+    void chunkScanned() {
+
+        this.chunks.increment();
+    }
+
+    void chunkFailed() {
+
+        this.failedChunks.increment();
+    }
+
+    void starsMigrated(int count) {
+
+        this.migrated.add(count);
+    }
+
+    void chunksRewritten(int count) {
+
+        this.rewrittenChunk.add(count);
+    }
+
+    void starFound(@NotNull NbtCompound ghost, int count) {
+
+        this.stacks.increment();
+        this.items.add(count);
+
+        String world = ghost.getString(RegionScanner.LOCATION_KEY + ".w");
+        if (world == null) {
+            this.noDestination.increment();
+        } else {
+            this.destinations.computeIfAbsent(world, key -> new LongAdder()).increment();
+        }
+
+        String owner = ghost.getString(RegionScanner.OWNER_KEY);
+        if (owner == null) {
+            this.unowned.increment();
+        } else {
+            this.owners.add(owner);
+        }
+    }
+
+    public long getRegions() {
+
+        return this.regions.sum();
+    }
+
+    public long getChunks() {
+
+        return this.chunks.sum();
+    }
+
+    public long getFailedChunks() {
+
+        return this.failedChunks.sum();
+    }
+
+    public long getStacks() {
+
+        return this.stacks.sum();
+    }
+
+    public long getItems() {
+
+        return this.items.sum();
+    }
+
+    public long getMigrated() {
+
+        return this.migrated.sum();
+    }
+
+    /**
+     * Retrieve the number of star stacks pointing to each world.
+     *
+     * @return A {@link Map} of world name to number of star stacks, sorted by world name.
+     */
+    @NotNull
+    public Map<String, Long> getDestinations() {
+
+        Map<String, Long> result = new TreeMap<>();
+        this.destinations.forEach((world, count) -> result.put(world, count.sum()));
+        return result;
+    }
+
+    /**
+     * Build a human readable report of these statistics.
+     *
+     * @return A {@link List} of lines.
+     */
+    @NotNull
+    public List<String> report() {
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Scanned %s chunks in %s region files (%s unreadable).", this.getChunks(), this.getRegions(), this.getFailedChunks()));
+        lines.add(String.format("Found %s teleportation stars in %s stacks.", this.getItems(), this.getStacks()));
+        lines.add(String.format("Owners: %s distinct, %s stacks without owner.", this.owners.size(), this.unowned.sum()));
+        lines.add(String.format("Destinations: %s stacks without destination.", this.noDestination.sum()));
+        this.getDestinations().forEach((world, count) -> lines.add(String.format("  %s: %s stacks", world, count)));
+
+        if (this.getMigrated() > 0 || this.rewrittenChunk.sum() > 0) {
+            lines.add(String.format("Migrated %s stacks in %s rewritten chunks.", this.getMigrated(), this.rewrittenChunk.sum()));
+        }
+
+        return lines;
+    }
+
+}
@@ -0,0 +1,76 @@
+package mc.leaf.modules.waypoints.offline.nbt;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mutable NBT compound tag. Values are stored using their natural Java type, as described in {@link NbtIO}.
+ */
+public class NbtCompound {
+
+    private final Map<String, Object> values = new LinkedHashMap<>();
+
+    public boolean contains(@NotNull String key) {
+
+        return this.values.containsKey(key);
+    }
+
+    @Nullable
+    public Object get(@NotNull String key) {
+
+        return this.values.get(key);
+    }
+
+    @Nullable
+    public NbtCompound getCompound(@NotNull String key) {
+
+        return this.values.get(key) instanceof NbtCompound compound ? compound : null;
+    }
+
+    @Nullable
+    public String getString(@NotNull String key) {
+
+        return this.values.get(key) instanceof String value ? value : null;
+    }
+
+    @Nullable
+    public Number getNumber(@NotNull String key) {
+
+        return this.values.get(key) instanceof Number value ? value : null;
+    }
+
+    /**
+     * Store a value in this compound.
+     *
+     * @param key
+     *         The key under which the value will be stored.
+     * @param value
+     *         The value, which must be one of the types supported by {@link NbtIO}.
+     */
+    public void put(@NotNull String key, @NotNull Object value) {
+
+        NbtIO.typeOf(value); // Fail early on unsupported values.
+        this.values.put(key, value);
+    }
+
+    public void remove(@NotNull String key) {
+
+        this.values.remove(key);
+    }
+
+    @NotNull
+    public Set<Map.Entry<String, Object>> entrySet() {
+
+        return this.values.entrySet();
+    }
+
+    public int size() {
+
+        return this.values.size();
+    }
+
+}
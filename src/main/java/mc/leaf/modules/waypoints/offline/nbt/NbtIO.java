@@ -0,0 +1,226 @@
+package mc.leaf.modules.waypoints.offline.nbt;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal reader and writer for the binary NBT format used by region files.
+ * <p>
+ * Tags are mapped to Java types as follows: {@link Byte}, {@link Short}, {@link Integer}, {@link Long}, {@link Float},
+ * {@link Double}, {@code byte[]}, {@link String}, {@link NbtList}, {@link NbtCompound}, {@code int[]} and
+ * {@code long[]}.
+ */
+public final class NbtIO {
+
+    public static final byte TAG_END        = 0;
+    public static final byte TAG_BYTE       = 1;
+    public static final byte TAG_SHORT      = 2;
+    public static final byte TAG_INT        = 3;
+    public static final byte TAG_LONG       = 4;
+    public static final byte TAG_FLOAT      = 5;
+    public static final byte TAG_DOUBLE     = 6;
+    public static final byte TAG_BYTE_ARRAY = 7;
+    public static final byte TAG_STRING     = 8;
+    public static final byte TAG_LIST       = 9;
+    public static final byte TAG_COMPOUND   = 10;
+    public static final byte TAG_INT_ARRAY  = 11;
+    public static final byte TAG_LONG_ARRAY = 12;
+
+    private static final int MAX_DEPTH = 512;
+
+    private NbtIO() {}
+
+    /**
+     * Read an unnamed root compound, as stored in a region file chunk.
+     *
+     * @param input
+     *         The {@link DataInput} to read from.
+     *
+     * @return The root {@link NbtCompound}.
+     *
+     * @throws IOException
+     *         If the data could not be read or is not a compound.
+     */
+    @NotNull
+    public static NbtCompound read(@NotNull DataInput input) throws IOException {
+
+        byte type = input.readByte();
+        if (type != TAG_COMPOUND) {
+            throw new IOException("Unable to read NBT: The root tag is not a compound (type " + type + ").");
+        }
+        input.readUTF(); // Root name, always empty in region files.
+        return (NbtCompound) readPayload(input, TAG_COMPOUND, 0);
+    }
+
+    /**
+     * Write an unnamed root compound, as stored in a region file chunk.
+     *
+     * @param output
+     *         The {@link DataOutput} to write to.
+     * @param compound
+     *         The root {@link NbtCompound}.
+     *
+     * @throws IOException
+     *         If the data could not be written.
+     */
+    public static void write(@NotNull DataOutput output, @NotNull NbtCompound compound) throws IOException {
+
+        output.writeByte(TAG_COMPOUND);
+        output.writeUTF("");
+        writePayload(output, compound);
+    }
+
+    /**
+     * Retrieve the NBT type id of the provided value.
+     *
+     * @param value
+     *         The value.
+     *
+     * @return The NBT type id.
+     *
+     * @throws IllegalArgumentException
+     *         If the value cannot be represented as NBT.
+     */
+    public static byte typeOf(@NotNull Object value) {
+
+        if (value instanceof Byte) return TAG_BYTE;
+        if (value instanceof Short) return TAG_SHORT;
+        if (value instanceof Integer) return TAG_INT;
+        if (value instanceof Long) return TAG_LONG;
+        if (value instanceof Float) return TAG_FLOAT;
+        if (value instanceof Double) return TAG_DOUBLE;
+        if (value instanceof byte[]) return TAG_BYTE_ARRAY;
+        if (value instanceof String) return TAG_STRING;
+        if (value instanceof NbtList) return TAG_LIST;
+        if (value instanceof NbtCompound) return TAG_COMPOUND;
+        if (value instanceof int[]) return TAG_INT_ARRAY;
+        if (value instanceof long[]) return TAG_LONG_ARRAY;
+        throw new IllegalArgumentException("Unsupported NBT value: " + value.getClass().getCanonicalName());
+    }
+
+    private static Object readPayload(DataInput input, byte type, int depth) throws IOException {
+
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Unable to read NBT: Maximum depth exceeded.");
+        }
+
+        switch (type) {
+            case TAG_BYTE:
+                return input.readByte();
+            case TAG_SHORT:
+                return input.readShort();
+            case TAG_INT:
+                return input.readInt();
+            case TAG_LONG:
+                return input.readLong();
+            case TAG_FLOAT:
+                return input.readFloat();
+            case TAG_DOUBLE:
+                return input.readDouble();
+            case TAG_BYTE_ARRAY: {
+                byte[] array = new byte[readLength(input)];
+                input.readFully(array);
+                return array;
+            }
+            case TAG_STRING:
+                return input.readUTF();
+            case TAG_LIST: {
+                byte         elementType = input.readByte();
+                int          length      = readLength(input);
+                List<Object> values      = new ArrayList<>(Math.min(length, 1024));
+                for (int i = 0; i < length; i++) {
+                    values.add(readPayload(input, elementType, depth + 1));
+                }
+                return new NbtList(elementType, values);
+            }
+            case TAG_COMPOUND: {
+                NbtCompound compound = new NbtCompound();
+                byte        childType;
+                while ((childType = input.readByte()) != TAG_END) {
+                    String name = input.readUTF();
+                    compound.put(name, readPayload(input, childType, depth + 1));
+                }
+                return compound;
+            }
+            case TAG_INT_ARRAY: {
+                int[] array = new int[readLength(input)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = input.readInt();
+                }
+                return array;
+            }
+            case TAG_LONG_ARRAY: {
+                long[] array = new long[readLength(input)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = input.readLong();
+                }
+                return array;
+            }
+            default:
+                throw new IOException("Unable to read NBT: Unknown tag type " + type + ".");
+        }
+    }
+
+    private static void writePayload(DataOutput output, Object value) throws IOException {
+
+        if (value instanceof Byte data) {
+            output.writeByte(data);
+        } else if (value instanceof Short data) {
+            output.writeShort(data);
+        } else if (value instanceof Integer data) {
+            output.writeInt(data);
+        } else if (value instanceof Long data) {
+            output.writeLong(data);
+        } else if (value instanceof Float data) {
+            output.writeFloat(data);
+        } else if (value instanceof Double data) {
+            output.writeDouble(data);
+        } else if (value instanceof byte[] data) {
+            output.writeInt(data.length);
+            output.write(data);
+        } else if (value instanceof String data) {
+            output.writeUTF(data);
+        } else if (value instanceof NbtList data) {
+            output.writeByte(data.values().isEmpty() ? data.elementType() : typeOf(data.values().get(0)));
+            output.writeInt(data.values().size());
+            for (Object element : data.values()) {
+                writePayload(output, element);
+            }
+        } else if (value instanceof NbtCompound data) {
+            for (Map.Entry<String, Object> entry : data.entrySet()) {
+                output.writeByte(typeOf(entry.getValue()));
+                output.writeUTF(entry.getKey());
+                writePayload(output, entry.getValue());
+            }
+            output.writeByte(TAG_END);
+        } else if (value instanceof int[] data) {
+            output.writeInt(data.length);
+            for (int element : data) {
+                output.writeInt(element);
+            }
+        } else if (value instanceof long[] data) {
+            output.writeInt(data.length);
+            for (long element : data) {
+                output.writeLong(element);
+            }
+        } else {
+            throw new IOException("Unable to write NBT: Unsupported value " + value.getClass().getCanonicalName());
+        }
+    }
+
+    private static int readLength(DataInput input) throws IOException {
+
+        int length = input.readInt();
+        if (length < 0) {
+            throw new IOException("Unable to read NBT: Negative length " + length + ".");
+        }
+        return length;
+    }
+
+}
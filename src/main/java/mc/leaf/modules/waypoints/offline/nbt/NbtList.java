@@ -0,0 +1,15 @@
+package mc.leaf.modules.waypoints.offline.nbt;
+
+import java.util.List;
+
+/**
+ * NBT list tag. The element type is kept explicitly so that empty lists can be written back unchanged.
+ *
+ * @param elementType
+ *         The NBT type id of the elements.
+ * @param values
+ *         The elements of this list.
+ */
+public record NbtList(byte elementType, List<Object> values) {
+
+}
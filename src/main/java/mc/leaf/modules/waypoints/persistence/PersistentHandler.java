@@ -9,7 +9,7 @@ import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Field;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -18,20 +18,21 @@ import java.util.logging.Level;
 
 public class PersistentHandler<K extends ILeafModule, T extends Persistable<K>> implements PersistentDataType<PersistentDataContainer, T> {
 
-    private final K              module;
-    private final Class<T>       clazz;
-    private       Function<K, T> supplier;
+    private final K                  module;
+    private final Class<T>           clazz;
+    private final List<FieldBinding> bindings;
+    private       Function<K, T>     supplier;
 
     public PersistentHandler(K module, Class<T> clazz) {
 
-        this.module = module;
-        this.clazz  = clazz;
+        this.module   = module;
+        this.clazz    = clazz;
+        this.bindings = this.bind();
     }
 
     public PersistentHandler(K module, Class<T> clazz, Function<K, T> supplier) {
 
-        this.module   = module;
-        this.clazz    = clazz;
+        this(module, clazz);
         this.supplier = supplier;
     }
 
@@ -58,6 +59,31 @@ public class PersistentHandler<K extends ILeafModule, T extends Persistable<K>>
         return new NamespacedKey(this.module.getPlugin(), key);
     }
 
+    /**
+     * Resolve every {@link Persist} field of the complex type once, along with its {@link NamespacedKey}s, so that
+     * encoding and decoding don't have to scan the class nor allocate keys.
+     *
+     * @return A {@link List} of {@link FieldBinding}.
+     */
+    private List<FieldBinding> bind() {
+
+        List<FieldBinding> bindings = new ArrayList<>();
+
+        for (Field field : this.getComplexType().getDeclaredFields()) {
+            Persist persist = field.getAnnotation(Persist.class);
+
+            if (persist == null) {
+                continue;
+            }
+
+            field.setAccessible(true);
+            LocationKeyWrapper wrapper = field.getType() == Location.class ? new LocationKeyWrapper(this::getKey, persist.key()) : null;
+            bindings.add(new FieldBinding(field, this.getKey(persist.key()), wrapper));
+        }
+
+        return List.copyOf(bindings);
+    }
+
     /**
      * Returns the primitive data type of this tag.
      *
@@ -99,32 +125,27 @@ public class PersistentHandler<K extends ILeafModule, T extends Persistable<K>>
         PersistentDataContainer container = context.newPersistentDataContainer();
 
         try {
-            // Scan for persistent data
-            List<Field> fields = Arrays.stream(this.getComplexType().getDeclaredFields())
-                    .filter(field -> field.isAnnotationPresent(Persist.class)).toList();
-
-            for (Field field : fields) {
-                Persist persist = field.getAnnotation(Persist.class);
-                field.setAccessible(true);
-                Object data = field.get(complex);
+            for (FieldBinding binding : this.bindings) {
+                NamespacedKey key  = binding.key();
+                Object        data = binding.field().get(complex);
 
                 if (data == null) {
-                    container.remove(this.getKey(persist.key()));
+                    container.remove(key);
                 } else if (data instanceof String value) {
-                    container.set(this.getKey(persist.key()), STRING, value);
+                    container.set(key, STRING, value);
                 } else if (data instanceof Integer value) {
-                    container.set(this.getKey(persist.key()), INTEGER, value);
+                    container.set(key, INTEGER, value);
                 } else if (data instanceof Short value) {
-                    container.set(this.getKey(persist.key()), SHORT, value);
+                    container.set(key, SHORT, value);
                 } else if (data instanceof Long value) {
-                    container.set(this.getKey(persist.key()), LONG, value);
+                    container.set(key, LONG, value);
                 } else if (data instanceof Location value) {
                     double x     = value.getX();
                     double y     = value.getY();
                     double z     = value.getZ();
                     String world = value.getWorld().getName();
 
-                    LocationKeyWrapper wrapper = new LocationKeyWrapper(this::getKey, persist.key());
+                    LocationKeyWrapper wrapper = binding.location();
 
                     container.set(wrapper.getX(), DOUBLE, x);
                     container.set(wrapper.getY(), DOUBLE, y);
@@ -132,14 +153,13 @@ public class PersistentHandler<K extends ILeafModule, T extends Persistable<K>>
                     container.set(wrapper.getW(), STRING, world);
                 } else if (data instanceof UUID) {
                     String uuid = data.toString();
-                    container.set(this.getKey(persist.key()), STRING, uuid);
+                    container.set(key, STRING, uuid);
                 } else if (data instanceof Color color) {
-                    container.set(this.getKey(persist.key()), INTEGER, color.asRGB());
+                    container.set(key, INTEGER, color.asRGB());
                 } else {
                     this.getModule().getPlugin().getLogger()
                             .log(Level.WARNING, "Unsupported data type: " + data.getClass().getCanonicalName());
                 }
-                field.setAccessible(false);
             }
         } catch (Exception e) {
             this.getModule().getPlugin().getLogger().log(Level.WARNING, "Unable to persist entity: " + e.getMessage());
@@ -164,23 +184,20 @@ public class PersistentHandler<K extends ILeafModule, T extends Persistable<K>>
 
         T instance = this.supplier.apply(this.module);
         try {
-            List<Field> fields = Arrays.stream(this.getComplexType().getDeclaredFields())
-                    .filter(field -> field.isAnnotationPresent(Persist.class)).toList();
-
-            for (Field field : fields) {
-                Persist persist = field.getAnnotation(Persist.class);
-                field.setAccessible(true);
+            for (FieldBinding binding : this.bindings) {
+                Field         field = binding.field();
+                NamespacedKey key   = binding.key();
 
                 if (field.getType() == String.class) {
-                    field.set(instance, primitive.get(this.getKey(persist.key()), STRING));
+                    field.set(instance, primitive.get(key, STRING));
                 } else if (field.getType() == Integer.class) {
-                    field.set(instance, primitive.get(this.getKey(persist.key()), INTEGER));
+                    field.set(instance, primitive.get(key, INTEGER));
                 } else if (field.getType() == Short.class) {
-                    field.set(instance, primitive.get(this.getKey(persist.key()), SHORT));
+                    field.set(instance, primitive.get(key, SHORT));
                 } else if (field.getType() == Long.class) {
-                    field.set(instance, primitive.get(this.getKey(persist.key()), LONG));
+                    field.set(instance, primitive.get(key, LONG));
                 } else if (field.getType() == Location.class) {
-                    LocationKeyWrapper wrapper = new LocationKeyWrapper(this::getKey, persist.key());
+                    LocationKeyWrapper wrapper = binding.location();
 
                     String worldName = primitive.get(wrapper.getW(), STRING);
                     Double x         = primitive.get(wrapper.getX(), DOUBLE);
@@ -195,10 +212,10 @@ public class PersistentHandler<K extends ILeafModule, T extends Persistable<K>>
                     }
 
                 } else if (field.getType() == UUID.class) {
-                    String uuid = primitive.get(this.getKey(persist.key()), STRING);
+                    String uuid = primitive.get(key, STRING);
                     field.set(instance, uuid == null ? null : UUID.fromString(uuid));
                 } else if (field.getType() == Color.class) {
-                    Integer rgb = primitive.get(this.getKey(persist.key()), INTEGER);
+                    Integer rgb = primitive.get(key, INTEGER);
                     if (rgb == null) {
                         this.getModule().getPlugin().getLogger()
                                 .log(Level.WARNING, "Unable to unbox color: The provided rgb was null.");
@@ -209,7 +226,6 @@ public class PersistentHandler<K extends ILeafModule, T extends Persistable<K>>
                     this.getModule().getPlugin().getLogger()
                             .log(Level.WARNING, "Unsupported data type: " + field.getType().getCanonicalName());
                 }
-                field.setAccessible(false);
             }
         } catch (Exception e) {
             this.getModule().getPlugin().getLogger().log(Level.WARNING, "Unable to persist entity: " + e.getMessage());
@@ -218,4 +234,8 @@ public class PersistentHandler<K extends ILeafModule, T extends Persistable<K>>
         return instance;
     }
 
+    private record FieldBinding(Field field, NamespacedKey key, LocationKeyWrapper location) {
+
+    }
+
 }
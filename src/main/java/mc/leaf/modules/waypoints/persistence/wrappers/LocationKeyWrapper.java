@@ -4,22 +4,35 @@ import org.bukkit.NamespacedKey;
 
 import java.util.function.Function;
 
-public record LocationKeyWrapper(Function<String, NamespacedKey> keySpace, String key) {
+public final class LocationKeyWrapper {
+
+    private final NamespacedKey w;
+    private final NamespacedKey x;
+    private final NamespacedKey y;
+    private final NamespacedKey z;
+
+    public LocationKeyWrapper(Function<String, NamespacedKey> keySpace, String key) {
+
+        this.w = keySpace.apply(key + ".w");
+        this.x = keySpace.apply(key + ".x");
+        this.y = keySpace.apply(key + ".y");
+        this.z = keySpace.apply(key + ".z");
+    }
 
     public NamespacedKey getW() {
-        return keySpace.apply(String.format("%s.w", this.key));
+        return this.w;
     }
 
     public NamespacedKey getX() {
-        return keySpace.apply(String.format("%s.x", this.key));
+        return this.x;
     }
 
     public NamespacedKey getY() {
-        return keySpace.apply(String.format("%s.y", this.key));
+        return this.y;
     }
 
     public NamespacedKey getZ() {
-        return keySpace.apply(String.format("%s.z", this.key));
+        return this.z;
     }
 
 }
@@ -0,0 +1,133 @@
+package mc.leaf.modules.waypoints.teleport;
+
+import mc.leaf.modules.waypoints.LeafWaypointsModule;
+import mc.leaf.modules.waypoints.items.GhostTeleporterTag;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps track of the {@link PlayerInventory} slots holding a teleportation star, for each online player.
+ * <p>
+ * The index is updated slot by slot as inventories change, and only checks for the presence of the star tag: tags are
+ * decoded when a star is actually used. Entries may become stale or go missing when an inventory is modified without
+ * any event (commands, other plugins): readers should call {@link #invalidate(Player, int)} on stale slots, and
+ * {@link #rebuild(Player)} before concluding that a player has no star. This class must only be used from the main
+ * thread.
+ */
+public class StarIndex {
+
+    private final LeafWaypointsModule module;
+    private final Map<UUID, BitSet>   slots = new HashMap<>();
+
+    public StarIndex(LeafWaypointsModule module) {
+
+        this.module = module;
+    }
+
+    /**
+     * Check if the provided {@link ItemStack} is a teleportation star, without decoding its tag.
+     *
+     * @param stack
+     *         The {@link ItemStack} to check.
+     *
+     * @return True if the {@link ItemStack} is a teleportation star, false otherwise.
+     */
+    public boolean isStar(ItemStack stack) {
+
+        return stack != null && stack.hasItemMeta() && GhostTeleporterTag.isPresent(this.module, stack.getItemMeta());
+    }
+
+    /**
+     * Index every slot of the provided {@link Player}'s inventory.
+     *
+     * @param player
+     *         The {@link Player} to index.
+     */
+    public void rebuild(Player player) {
+
+        PlayerInventory inventory = player.getInventory();
+        BitSet          stars     = new BitSet(inventory.getSize());
+
+        for (int slot = 0; slot < inventory.getSize(); slot++) {
+            if (this.isStar(inventory.getItem(slot))) {
+                stars.set(slot);
+            }
+        }
+
+        this.slots.put(player.getUniqueId(), stars);
+    }
+
+    /**
+     * Index a single slot of the provided {@link Player}'s inventory. The whole inventory is indexed if the player was
+     * not indexed yet.
+     *
+     * @param player
+     *         The {@link Player} owning the inventory.
+     * @param slot
+     *         The slot that may have changed.
+     */
+    public void update(Player player, int slot) {
+
+        BitSet stars = this.slots.get(player.getUniqueId());
+
+        if (stars == null) {
+            this.rebuild(player);
+            return;
+        }
+
+        if (slot >= 0 && slot < player.getInventory().getSize()) {
+            stars.set(slot, this.isStar(player.getInventory().getItem(slot)));
+        }
+    }
+
+    /**
+     * Mark a slot of the provided {@link Player}'s inventory as not holding a teleportation star anymore.
+     *
+     * @param player
+     *         The {@link Player} owning the inventory.
+     * @param slot
+     *         The slot to clear.
+     */
+    public void invalidate(Player player, int slot) {
+
+        BitSet stars = this.slots.get(player.getUniqueId());
+
+        if (stars != null) {
+            stars.clear(slot);
+        }
+    }
+
+    /**
+     * Retrieve the next slot holding a teleportation star.
+     *
+     * @param player
+     *         The {@link Player} owning the inventory.
+     * @param from
+     *         The first slot to check.
+     *
+     * @return The slot index, or {@code -1} if there is no other teleportation star.
+     */
+    public int next(Player player, int from) {
+
+        BitSet stars = this.slots.get(player.getUniqueId());
+        return stars == null ? -1 : stars.nextSetBit(from);
+    }
+
+    /**
+     * Stop indexing the provided {@link Player}'s inventory.
+     *
+     * @param player
+     *         The {@link Player} to forget.
+     */
+    public void remove(Player player) {
+
+        this.slots.remove(player.getUniqueId());
+    }
+
+}
@@ -0,0 +1,262 @@
+package mc.leaf.modules.waypoints.teleport;
+
+import mc.leaf.modules.waypoints.LeafWaypoints;
+import mc.leaf.modules.waypoints.LeafWaypointsModule;
+import mc.leaf.modules.waypoints.config.WaypointsConfig;
+import mc.leaf.modules.waypoints.events.WaypointPreTeleportEvent;
+import mc.leaf.modules.waypoints.events.WaypointTeleportedEvent;
+import mc.leaf.modules.waypoints.items.GhostTeleporterTag;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.Optional;
+
+/**
+ * Teleports entities using a teleportation star, whether the star is held or resolved from the {@link StarIndex}.
+ */
+public class WaypointTeleporter {
+
+    private final LeafWaypointsModule module;
+    private final StarIndex           index;
+
+    public WaypointTeleporter(LeafWaypointsModule module, StarIndex index) {
+
+        this.module = module;
+        this.index  = index;
+    }
+
+    /**
+     * Teleport the provided {@link Entity} to the destination of a teleportation star, consuming its cooldown.
+     *
+     * @param player
+     *         The {@link Player} using the teleportation star.
+     * @param entity
+     *         The {@link Entity} to teleport.
+     * @param stack
+     *         The {@link ItemStack} of the teleportation star.
+     * @param meta
+     *         The {@link ItemMeta} of the teleportation star, from which the tag has been decoded.
+     * @param tag
+     *         The {@link GhostTeleporterTag} of the teleportation star.
+     *
+     * @return True if the entity has been teleported, false otherwise.
+     */
+    public boolean teleport(Player player, Entity entity, ItemStack stack, ItemMeta meta, GhostTeleporterTag tag) {
+
+        WaypointsConfig config = this.module.getConfiguration();
+
+        if (tag.getLocation() == null) {
+            player.sendMessage(LeafWaypoints.PREFIX + " No destination defined.");
+            return false;
+        }
+
+        long durationLeft = tag.getCooldownLeft(config.cooldown());
+
+        if (durationLeft > 0) {
+            this.sendCooldown(player, durationLeft);
+            return false;
+        }
+
+        Location destination = this.callPreTeleport(player, entity, tag);
+
+        if (destination == null) {
+            return false;
+        }
+
+        // The teleportation can be refused (passenger, cancelled PlayerTeleportEvent...): the cooldown is only consumed
+        // once the entity has actually been moved.
+        Location from = entity.getLocation();
+        if (!entity.teleport(destination)) {
+            return false;
+        }
+
+        tag.setLastTeleport(System.currentTimeMillis());
+        tag.persist(meta);
+        stack.setItemMeta(meta);
+
+        this.playTeleportAnimation(config, from);
+        this.playTeleportAnimation(config, entity.getLocation());
+        this.callTeleported(player, entity, tag, from);
+        return true;
+    }
+
+    /**
+     * Teleport the provided {@link Player} using the first usable teleportation star they own in their inventory,
+     * without holding it. Stars without destination or still on cooldown are skipped. Only the tags of the stars found
+     * through the {@link StarIndex} are decoded, and the inventory is indexed again when no star is found, in case one
+     * has been added without any inventory event.
+     * <p>
+     * The player is only notified when they own a star that could not be used: callers are responsible for reporting
+     * {@link QuickTeleportResult#NO_STAR} and {@link QuickTeleportResult#NOT_OWNER}.
+     *
+     * @param player
+     *         The {@link Player} to teleport.
+     *
+     * @return The {@link QuickTeleportResult}.
+     */
+    public QuickTeleportResult quickTeleport(Player player) {
+
+        if (this.index.next(player, 0) == -1) {
+            this.index.rebuild(player);
+        }
+
+        WaypointsConfig config          = this.module.getConfiguration();
+        PlayerInventory inventory       = player.getInventory();
+        long            shortestWait    = Long.MAX_VALUE;
+        boolean         withoutLocation = false;
+        boolean         foreignStar     = false;
+
+        for (int slot = this.index.next(player, 0); slot != -1; slot = this.index.next(player, slot + 1)) {
+            ItemStack stack = inventory.getItem(slot);
+
+            if (stack == null || !stack.hasItemMeta()) {
+                this.index.invalidate(player, slot);
+                continue;
+            }
+
+            ItemMeta                     meta        = stack.getItemMeta();
+            Optional<GhostTeleporterTag> optionalTag = GhostTeleporterTag.from(this.module, meta);
+
+            if (optionalTag.isEmpty()) {
+                this.index.invalidate(player, slot);
+                continue;
+            }
+
+            GhostTeleporterTag tag = optionalTag.get();
+
+            if (!tag.isOwner(player.getUniqueId())) {
+                foreignStar = true;
+                continue;
+            }
+
+            if (tag.getLocation() == null) {
+                withoutLocation = true;
+                continue;
+            }
+
+            long durationLeft = tag.getCooldownLeft(config.cooldown());
+
+            if (durationLeft > 0) {
+                shortestWait = Math.min(shortestWait, durationLeft);
+                continue;
+            }
+
+            return this.teleport(player, player, stack, meta, tag) ? QuickTeleportResult.TELEPORTED : QuickTeleportResult.REFUSED;
+        }
+
+        if (shortestWait != Long.MAX_VALUE) {
+            this.sendCooldown(player, shortestWait);
+            return QuickTeleportResult.COOLDOWN;
+        }
+
+        if (withoutLocation) {
+            player.sendMessage(LeafWaypoints.PREFIX + " None of your teleportation stars has a destination defined.");
+            return QuickTeleportResult.NO_DESTINATION;
+        }
+
+        return foreignStar ? QuickTeleportResult.NOT_OWNER : QuickTeleportResult.NO_STAR;
+    }
+
+    private void sendCooldown(Player player, long durationLeft) {
+
+        player.sendMessage(String.format("%s Please wait before teleporting again... (%s seconds remaining)", LeafWaypoints.PREFIX, Math.round(durationLeft / 1000f)));
+    }
+
+    /**
+     * Fire a {@link WaypointPreTeleportEvent} if anyone is listening to it. The event is not created at all otherwise.
+     *
+     * @param player
+     *         The {@link Player} using the teleportation star.
+     * @param entity
+     *         The {@link Entity} about to be teleported.
+     * @param tag
+     *         The {@link GhostTeleporterTag} of the teleportation star.
+     *
+     * @return The {@link Location} to teleport to, or {@code null} if the teleportation has been cancelled.
+     */
+    private Location callPreTeleport(Player player, Entity entity, GhostTeleporterTag tag) {
+
+        if (WaypointPreTeleportEvent.getHandlerList().getRegisteredListeners().length == 0) {
+            return tag.getLocation();
+        }
+
+        WaypointPreTeleportEvent preTeleportEvent = new WaypointPreTeleportEvent(player, entity, tag.copy(), tag.getLocation().clone());
+        this.module.getPlugin().getServer().getPluginManager().callEvent(preTeleportEvent);
+        return preTeleportEvent.isCancelled() ? null : preTeleportEvent.getDestination();
+    }
+
+    /**
+     * Fire a {@link WaypointTeleportedEvent} if anyone is listening to it. The event is not created at all otherwise.
+     *
+     * @param player
+     *         The {@link Player} who used the teleportation star.
+     * @param entity
+     *         The {@link Entity} that has been teleported.
+     * @param tag
+     *         The {@link GhostTeleporterTag} of the teleportation star.
+     * @param from
+     *         The {@link Location} of the {@link Entity} before the teleportation.
+     */
+    private void callTeleported(Player player, Entity entity, GhostTeleporterTag tag, Location from) {
+
+        if (WaypointTeleportedEvent.getHandlerList().getRegisteredListeners().length == 0) {
+            return;
+        }
+
+        WaypointTeleportedEvent teleportedEvent = new WaypointTeleportedEvent(player, entity, tag.copy(), from, entity.getLocation());
+        this.module.getPlugin().getServer().getPluginManager().callEvent(teleportedEvent);
+    }
+
+    private void playTeleportAnimation(WaypointsConfig config, Location location) {
+
+        location.getWorld().spawnParticle(config.particle(), location, config.particleCount(), 0, 1, 0);
+        location.getWorld().playSound(location, config.sound(), config.soundVolume(), config.soundPitch());
+    }
+
+    /**
+     * Outcome of {@link #quickTeleport(Player)}.
+     */
+    public enum QuickTeleportResult {
+
+        /**
+         * The player has been teleported.
+         */
+        TELEPORTED,
+        /**
+         * A star was usable, but the teleportation has been cancelled or refused.
+         */
+        REFUSED,
+        /**
+         * Every star owned by the player with a destination is on cooldown.
+         */
+        COOLDOWN,
+        /**
+         * No star owned by the player has a destination.
+         */
+        NO_DESTINATION,
+        /**
+         * The player only carries stars owned by someone else.
+         */
+        NOT_OWNER,
+        /**
+         * The player doesn't carry any star.
+         */
+        NO_STAR;
+
+        /**
+         * Check if the player carries at least one star they own, whether it could be used or not.
+         *
+         * @return True if a star owned by the player has been found, false otherwise.
+         */
+        public boolean isStarOwned() {
+
+            return this != NOT_OWNER && this != NO_STAR;
+        }
+
+    }
+
+}
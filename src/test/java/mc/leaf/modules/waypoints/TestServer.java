@@ -0,0 +1,156 @@
+package mc.leaf.modules.waypoints;
+
+import mc.leaf.core.interfaces.ILeafCore;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Minimal server stand-in, enough to build a {@link LeafWaypointsModule} and resolve worlds by name without running a
+ * server.
+ */
+public final class TestServer {
+
+    private static final Logger             LOGGER = Logger.getLogger("TestServer");
+    private static final Map<String, World> WORLDS = new ConcurrentHashMap<>();
+
+    private static LeafWaypointsModule module;
+
+    private TestServer() {}
+
+    /**
+     * Install the fake {@link Server} if needed and retrieve the shared {@link LeafWaypointsModule}.
+     *
+     * @return A {@link LeafWaypointsModule}.
+     */
+    public static synchronized LeafWaypointsModule module() {
+
+        if (module == null) {
+            Server server = proxy(Server.class, (method, args) -> switch (method.getName()) {
+                case "getLogger" -> LOGGER;
+                case "getName", "getVersion", "getBukkitVersion" -> "TestServer";
+                case "getWorld" -> args[0] instanceof String name ? WORLDS.get(name) : null;
+                default -> null;
+            });
+
+            if (Bukkit.getServer() == null) {
+                Bukkit.setServer(server);
+            }
+
+            JavaPlugin plugin = new TestPlugin(new JavaPluginLoader(server));
+            ILeafCore  core   = proxy(ILeafCore.class, (method, args) -> null);
+            module = new LeafWaypointsModule(plugin, core);
+        }
+        return module;
+    }
+
+    /**
+     * Retrieve a fake {@link World}, created on first use.
+     *
+     * @param name
+     *         The name of the world.
+     *
+     * @return A {@link World}.
+     */
+    public static World world(String name) {
+
+        return WORLDS.computeIfAbsent(name, key -> proxy(World.class, (method, args) -> method.getName()
+                .equals("getName") ? key : null));
+    }
+
+    /**
+     * Create a proxy implementing the provided interface. {@link Object} methods use identity semantics and methods
+     * not handled by the handler return the default value of their return type.
+     *
+     * @param type
+     *         The interface to implement.
+     * @param handler
+     *         The handler receiving every other call.
+     * @param <T>
+     *         The type of the interface.
+     *
+     * @return A proxy instance.
+     */
+    public static <T> T proxy(Class<T> type, Handler handler) {
+
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (instance, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    if (method.getParameterCount() == 1) {
+                        return instance == args[0];
+                    }
+                    break;
+                case "hashCode":
+                    if (method.getParameterCount() == 0) {
+                        return System.identityHashCode(instance);
+                    }
+                    break;
+                case "toString":
+                    if (method.getParameterCount() == 0) {
+                        return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(instance));
+                    }
+                    break;
+            }
+
+            Object result = handler.handle(method, args);
+            return result == null ? defaultValue(method.getReturnType()) : result;
+        });
+        return type.cast(proxy);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == float.class) {
+            return 0f;
+        }
+        if (type == double.class) {
+            return 0d;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return (byte) 0;
+    }
+
+    @FunctionalInterface
+    public interface Handler {
+
+        Object handle(Method method, Object[] args) throws Throwable;
+
+    }
+
+    private static class TestPlugin extends JavaPlugin {
+
+        public TestPlugin(JavaPluginLoader loader) {
+
+            super(loader, new PluginDescriptionFile("LeafWaypoints", "test", TestPlugin.class.getName()), new File("build/tmp/test-plugin"), new File("build/tmp/test-plugin.jar"));
+        }
+
+    }
+
+}
@@ -0,0 +1,76 @@
+package mc.leaf.modules.waypoints.config;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaypointsConfigTest {
+
+    private static YamlConfiguration yaml(String content) throws InvalidConfigurationException {
+
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.loadFromString(content);
+        return yaml;
+    }
+
+    @Test
+    void bundledConfigurationMatchesDefault() throws IOException, InvalidConfigurationException {
+
+        try (InputStream stream = WaypointsConfigTest.class.getResourceAsStream("/config.yml")) {
+            assertNotNull(stream);
+            YamlConfiguration yaml = new YamlConfiguration();
+            yaml.load(new InputStreamReader(stream, StandardCharsets.UTF_8));
+            assertEquals(WaypointsConfig.DEFAULT, WaypointsConfig.from(yaml));
+        }
+    }
+
+    @Test
+    void emptyConfigurationFallsBackToDefault() throws InvalidConfigurationException {
+
+        assertEquals(WaypointsConfig.DEFAULT, WaypointsConfig.from(yaml("")));
+    }
+
+    @Test
+    void particleWithDataIsRejected() throws InvalidConfigurationException {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> WaypointsConfig.from(yaml("animation:\n  particle: redstone\n")));
+        assertTrue(exception.getMessage().startsWith("animation.particle:"));
+    }
+
+    @Test
+    void unknownParticleIsRejected() {
+
+        assertThrows(IllegalArgumentException.class, () -> WaypointsConfig.from(yaml("animation:\n  particle: sparkles\n")));
+    }
+
+    @Test
+    void valuesOfTheWrongTypeAreRejected() {
+
+        assertThrows(IllegalArgumentException.class, () -> WaypointsConfig.from(yaml("cooldown: 8s\n")));
+        assertThrows(IllegalArgumentException.class, () -> WaypointsConfig.from(yaml("cooldown: 1.5\n")));
+        assertThrows(IllegalArgumentException.class, () -> WaypointsConfig.from(yaml("bed-only: \"no\"\n")));
+        assertThrows(IllegalArgumentException.class, () -> WaypointsConfig.from(yaml("animation:\n  sound-volume: loud\n")));
+        assertThrows(IllegalArgumentException.class, () -> WaypointsConfig.from(yaml("animation:\n  particle-count: many\n")));
+    }
+
+    @Test
+    void negativeValuesAreRejected() {
+
+        assertThrows(IllegalArgumentException.class, () -> WaypointsConfig.from(yaml("cooldown: -1\n")));
+        assertThrows(IllegalArgumentException.class, () -> WaypointsConfig.from(yaml("animation:\n  sound-volume: -0.5\n")));
+    }
+
+    @Test
+    void zeroCooldownIsAccepted() throws InvalidConfigurationException {
+
+        assertEquals(0, WaypointsConfig.from(yaml("cooldown: 0\n")).cooldown());
+    }
+
+}
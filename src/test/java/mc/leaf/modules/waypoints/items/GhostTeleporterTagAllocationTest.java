@@ -0,0 +1,105 @@
+package mc.leaf.modules.waypoints.items;
+
+import mc.leaf.modules.waypoints.LeafWaypointsModule;
+import mc.leaf.modules.waypoints.TestServer;
+import mc.leaf.modules.waypoints.persistence.InMemoryPersistentData;
+import org.bukkit.Location;
+import org.bukkit.persistence.PersistentDataHolder;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the star hot paths against allocation regressions: creating keys, formatting strings or scanning fields on
+ * each call costs several hundred bytes per call and would exceed these budgets.
+ * <p>
+ * Budgets are in bytes per call and can be changed with the {@code allocation.budget.decode} and
+ * {@code allocation.budget.reject} properties.
+ */
+class GhostTeleporterTagAllocationTest {
+
+    private static final long DECODE_BUDGET = Long.getLong("allocation.budget.decode", 1536);
+    private static final long REJECT_BUDGET = Long.getLong("allocation.budget.reject", 128);
+
+    private static final int WARMUP     = 50_000;
+    private static final int ITERATIONS = 20_000;
+
+    private static com.sun.management.ThreadMXBean threads;
+    private static LeafWaypointsModule             module;
+    private static PersistentDataHolder            star;
+    private static PersistentDataHolder            other;
+
+    @BeforeAll
+    static void createHolders() {
+
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean, "Allocation counters are not available on this JVM.");
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported(), "Allocation counters are not supported on this JVM.");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        module = TestServer.module();
+
+        GhostTeleporterTag tag = new GhostTeleporterTag(module);
+        tag.setLocation(new Location(TestServer.world("world"), 120.5, 64, -42.5));
+        tag.setOwner(UUID.randomUUID());
+        tag.setLastTeleport(System.currentTimeMillis());
+
+        star = InMemoryPersistentData.holder(InMemoryPersistentData.container());
+        tag.persist(star);
+
+        other = InMemoryPersistentData.holder(InMemoryPersistentData.container());
+    }
+
+    /**
+     * Measure the average amount of bytes allocated by the current thread for one call of the provided action, once the
+     * action has been warmed up.
+     */
+    private static long allocatedPerCall(BooleanSupplier action) {
+
+        boolean sink = false;
+        for (int i = 0; i < WARMUP; i++) {
+            sink ^= action.getAsBoolean();
+        }
+
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink ^= action.getAsBoolean();
+        }
+        long after = threads.getThreadAllocatedBytes(thread);
+
+        // Keep the results alive so that the calls cannot be optimized away.
+        if (sink && after < 0) {
+            throw new IllegalStateException();
+        }
+        return (after - before) / ITERATIONS;
+    }
+
+    private static void assertWithinBudget(String operation, long budget, BooleanSupplier action) {
+
+        long allocated = allocatedPerCall(action);
+        assertTrue(allocated <= budget, String.format("%s allocated %d bytes per call, budget is %d bytes.", operation, allocated, budget));
+    }
+
+    @Test
+    void decodeStaysWithinBudget() {
+
+        assertTrue(GhostTeleporterTag.from(module, star).map(GhostTeleporterTag::getLocation).isPresent());
+        assertWithinBudget("Decoding a star", DECODE_BUDGET, () -> GhostTeleporterTag.from(module, star).isPresent());
+    }
+
+    @Test
+    void fastRejectStaysWithinBudget() {
+
+        assertFalse(GhostTeleporterTag.isPresent(module, other));
+        assertWithinBudget("Rejecting a non-star", REJECT_BUDGET, () -> GhostTeleporterTag.isPresent(module, other));
+        assertWithinBudget("Decoding a non-star", REJECT_BUDGET, () -> GhostTeleporterTag.from(module, other).isPresent());
+    }
+
+}
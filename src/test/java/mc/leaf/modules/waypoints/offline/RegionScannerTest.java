@@ -0,0 +1,252 @@
+package mc.leaf.modules.waypoints.offline;
+
+import mc.leaf.modules.waypoints.offline.nbt.NbtCompound;
+import mc.leaf.modules.waypoints.offline.nbt.NbtIO;
+import mc.leaf.modules.waypoints.offline.nbt.NbtList;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegionScannerTest {
+
+    private static final Logger LOGGER = Logger.getLogger(RegionScannerTest.class.getName());
+
+    private static ForkJoinPool pool;
+
+    @TempDir
+    Path world;
+
+    @BeforeAll
+    static void createPool() {
+
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+
+        pool.shutdown();
+    }
+
+    private static NbtCompound star(String world, String owner, Long lastTeleport, int count) {
+
+        NbtCompound ghost = new NbtCompound();
+        if (world != null) {
+            ghost.put(RegionScanner.LOCATION_KEY + ".w", world);
+            ghost.put(RegionScanner.LOCATION_KEY + ".x", 10.5);
+            ghost.put(RegionScanner.LOCATION_KEY + ".y", 64.0);
+            ghost.put(RegionScanner.LOCATION_KEY + ".z", -3.5);
+        }
+        if (owner != null) {
+            ghost.put(RegionScanner.OWNER_KEY, owner);
+        }
+        if (lastTeleport != null) {
+            ghost.put(RegionScanner.LAST_TELEPORT_KEY, lastTeleport);
+        }
+
+        NbtCompound values = new NbtCompound();
+        values.put(RegionScanner.GHOST_KEY, ghost);
+
+        NbtCompound tag = new NbtCompound();
+        tag.put("PublicBukkitValues", values);
+
+        NbtCompound item = new NbtCompound();
+        item.put("id", "minecraft:nether_star");
+        item.put("Count", (byte) count);
+        item.put("tag", tag);
+        return item;
+    }
+
+    private static NbtCompound item(String id, int count) {
+
+        NbtCompound item = new NbtCompound();
+        item.put("id", id);
+        item.put("Count", (byte) count);
+        return item;
+    }
+
+    private static NbtCompound chunk(NbtCompound... items) {
+
+        NbtCompound chest = new NbtCompound();
+        chest.put("id", "minecraft:chest");
+        chest.put("Items", new NbtList(NbtIO.TAG_COMPOUND, new ArrayList<>(List.of(items))));
+
+        NbtCompound root = new NbtCompound();
+        root.put("DataVersion", 2865);
+        root.put("block_entities", new NbtList(NbtIO.TAG_COMPOUND, new ArrayList<>(List.of(chest))));
+        root.put("Heightmap", new long[]{1L, 2L, 3L});
+        return root;
+    }
+
+    /**
+     * Lay out a region file the same way the server does: header, timestamps, then each chunk padded to whole sectors.
+     */
+    private static Path writeRegion(Path directory, Map<Integer, NbtCompound> chunks) throws IOException {
+
+        ByteBuffer   header = ByteBuffer.allocate(2 * RegionFile.SECTOR_SIZE);
+        List<byte[]> data   = new ArrayList<>();
+        int          sector = 2;
+
+        for (Map.Entry<Integer, NbtCompound> entry : new TreeMap<>(chunks).entrySet()) {
+            byte[] encoded = RegionFile.encode(entry.getValue());
+            int    sectors = (encoded.length + RegionFile.SECTOR_SIZE - 1) / RegionFile.SECTOR_SIZE;
+
+            header.putInt(entry.getKey() * 4, (sector << 8) | sectors);
+            header.putInt(RegionFile.SECTOR_SIZE + entry.getKey() * 4, 1_600_000_000 + entry.getKey());
+            data.add(Arrays.copyOf(encoded, sectors * RegionFile.SECTOR_SIZE));
+            sector += sectors;
+        }
+
+        Path region = Files.createDirectories(directory.resolve("region")).resolve("r.0.0.mca");
+        try (var output = Files.newOutputStream(region)) {
+            output.write(header.array());
+            for (byte[] bytes : data) {
+                output.write(bytes);
+            }
+        }
+        return region;
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    private static RegionFile.Chunk chunkAt(RegionFile region, int index) {
+
+        return region.chunks().stream().filter(chunk -> chunk.index() == index).findFirst().orElseThrow();
+    }
+
+    private static NbtCompound ghostOf(NbtCompound chunk) {
+
+        NbtList     entities = (NbtList) chunk.get("block_entities");
+        NbtList     items    = (NbtList) ((NbtCompound) entities.values().get(0)).get("Items");
+        NbtCompound item     = (NbtCompound) items.values().get(0);
+        return item.getCompound("tag").getCompound("PublicBukkitValues").getCompound(RegionScanner.GHOST_KEY);
+    }
+
+    @Test
+    void scanCollectsStatistics() throws IOException {
+
+        NbtCompound shulker     = item("minecraft:shulker_box", 1);
+        NbtCompound blockEntity = new NbtCompound();
+        blockEntity.put("Items", new NbtList(NbtIO.TAG_COMPOUND, new ArrayList<>(List.of(star("world_nether", "b", 0L, 3)))));
+        NbtCompound shulkerTag = new NbtCompound();
+        shulkerTag.put("BlockEntityTag", blockEntity);
+        shulker.put("tag", shulkerTag);
+
+        writeRegion(this.world, Map.of(
+                0, chunk(star("world", "a", 0L, 2), item("minecraft:stone", 64), star(null, null, null, 1)),
+                33, chunk(shulker),
+                1023, chunk(item("minecraft:dirt", 1))
+        ));
+
+        StarStatistics statistics = new RegionScanner(pool, null, LOGGER).scan(List.of(this.world));
+
+        assertEquals(1, statistics.getRegions());
+        assertEquals(3, statistics.getChunks());
+        assertEquals(0, statistics.getFailedChunks());
+        assertEquals(3, statistics.getStacks());
+        assertEquals(6, statistics.getItems());
+        assertEquals(Map.of("world", 1L, "world_nether", 1L), statistics.getDestinations());
+        assertEquals(0, statistics.getMigrated());
+    }
+
+    @Test
+    void latestMigrationBackfillsLastTeleportOnce() throws IOException {
+
+        Path region = writeRegion(this.world, Map.of(
+                0, chunk(star("world", "a", null, 1)),
+                5, chunk(star("world", "a", 1234L, 1)),
+                7, chunk(item("minecraft:dirt", 1))
+        ));
+
+        StarStatistics first = new RegionScanner(pool, StarMigration.LATEST, LOGGER).scan(List.of(this.world));
+        assertEquals(2, first.getStacks());
+        assertEquals(1, first.getMigrated());
+
+        RegionFile rewritten = RegionFile.open(region);
+        assertEquals(0L, ghostOf(rewritten.read(chunkAt(rewritten, 0))).get(RegionScanner.LAST_TELEPORT_KEY));
+        assertEquals(1234L, ghostOf(rewritten.read(chunkAt(rewritten, 5))).get(RegionScanner.LAST_TELEPORT_KEY));
+
+        StarStatistics second = new RegionScanner(pool, StarMigration.LATEST, LOGGER).scan(List.of(this.world));
+        assertEquals(2, second.getStacks());
+        assertEquals(0, second.getMigrated());
+    }
+
+    @Test
+    void rewriteKeepsTimestampsAndUntouchedChunks() throws IOException {
+
+        Path region = writeRegion(this.world, Map.of(
+                0, chunk(star("world", "a", null, 1)),
+                5, chunk(star("world", "a", 1234L, 1)),
+                7, chunk(item("minecraft:dirt", 1))
+        ));
+
+        RegionFile            original   = RegionFile.open(region);
+        Map<Integer, Integer> timestamps = new HashMap<>();
+        Map<Integer, byte[]>  untouched  = new HashMap<>();
+        for (RegionFile.Chunk chunk : original.chunks()) {
+            timestamps.put(chunk.index(), chunk.timestamp());
+            if (chunk.index() != 0) {
+                untouched.put(chunk.index(), bytes(original.raw(chunk)));
+            }
+        }
+
+        new RegionScanner(pool, StarMigration.LATEST, LOGGER).scan(List.of(this.world));
+
+        RegionFile rewritten = RegionFile.open(region);
+        assertEquals(3, rewritten.chunks().size());
+        for (RegionFile.Chunk chunk : rewritten.chunks()) {
+            assertEquals(timestamps.get(chunk.index()), chunk.timestamp());
+            if (untouched.containsKey(chunk.index())) {
+                assertArrayEquals(untouched.get(chunk.index()), bytes(rewritten.raw(chunk)));
+            }
+        }
+        assertFalse(Files.exists(region.resolveSibling("r.0.0.mca.tmp")));
+    }
+
+    @Test
+    void rewriteKeepsOriginalWhenReplacementIsTooLarge() throws IOException {
+
+        Path region = writeRegion(this.world, Map.of(0, chunk(star("world", "a", null, 1))));
+
+        RegionFile original = RegionFile.open(region);
+        byte[]     before   = bytes(original.raw(chunkAt(original, 0)));
+
+        Set<Integer> written = original.rewrite(Map.of(0, new byte[256 * RegionFile.SECTOR_SIZE]));
+        assertTrue(written.isEmpty());
+
+        RegionFile rewritten = RegionFile.open(region);
+        assertArrayEquals(before, bytes(rewritten.raw(chunkAt(rewritten, 0))));
+    }
+
+    @Test
+    void lockWorldRefusesWorldInUse() throws IOException {
+
+        try (FileChannel lock = RegionScanner.lockWorld(this.world)) {
+            assertNotNull(lock);
+            assertTrue(Files.exists(this.world.resolve("session.lock")));
+            assertNull(RegionScanner.lockWorld(this.world));
+        }
+
+        try (FileChannel lock = RegionScanner.lockWorld(this.world)) {
+            assertNotNull(lock);
+        }
+    }
+
+}
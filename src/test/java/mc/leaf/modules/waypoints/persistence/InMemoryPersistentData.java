@@ -0,0 +1,95 @@
+package mc.leaf.modules.waypoints.persistence;
+
+import mc.leaf.modules.waypoints.TestServer;
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataHolder;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Map backed {@link PersistentDataContainer}, storing primitives the same way the server does: complex values are
+ * converted when set and read back through their {@link PersistentDataType}.
+ */
+public final class InMemoryPersistentData {
+
+    public static final PersistentDataAdapterContext CONTEXT = TestServer.proxy(PersistentDataAdapterContext.class, (method, args) -> method
+            .getName().equals("newPersistentDataContainer") ? container() : null);
+
+    private InMemoryPersistentData() {}
+
+    /**
+     * Create an empty {@link PersistentDataContainer}.
+     *
+     * @return A {@link PersistentDataContainer}.
+     */
+    public static PersistentDataContainer container() {
+
+        Map<NamespacedKey, Object> values = new HashMap<>();
+
+        return TestServer.proxy(PersistentDataContainer.class, (method, args) -> switch (method.getName()) {
+            case "set" -> {
+                PersistentDataType<Object, Object> type = cast(args[1]);
+                values.put((NamespacedKey) args[0], type.toPrimitive(args[2], CONTEXT));
+                yield null;
+            }
+            case "get", "getOrDefault" -> {
+                Object value = read(values.get((NamespacedKey) args[0]), cast(args[1]));
+                yield value == null && args.length == 3 ? args[2] : value;
+            }
+            case "has" -> {
+                Object stored = values.get((NamespacedKey) args[0]);
+                if (args.length == 1) {
+                    yield stored != null;
+                }
+                yield stored != null && InMemoryPersistentData.<Object, Object>cast(args[1]).getPrimitiveType()
+                        .isInstance(stored);
+            }
+            case "remove" -> {
+                values.remove((NamespacedKey) args[0]);
+                yield null;
+            }
+            case "getKeys" -> Set.copyOf(values.keySet());
+            case "isEmpty" -> values.isEmpty();
+            case "getAdapterContext" -> CONTEXT;
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /**
+     * Create a {@link PersistentDataHolder} exposing the provided {@link PersistentDataContainer}.
+     *
+     * @param container
+     *         The {@link PersistentDataContainer} of the holder.
+     *
+     * @return A {@link PersistentDataHolder}.
+     */
+    public static PersistentDataHolder holder(PersistentDataContainer container) {
+
+        return TestServer.proxy(PersistentDataHolder.class, (method, args) -> method.getName()
+                .equals("getPersistentDataContainer") ? container : null);
+    }
+
+    private static Object read(Object stored, PersistentDataType<Object, Object> type) {
+
+        if (stored == null) {
+            return null;
+        }
+        if (!type.getPrimitiveType().isInstance(stored)) {
+            throw new IllegalArgumentException("The found tag instance cannot store " + type.getPrimitiveType()
+                    .getSimpleName());
+        }
+        return type.fromPrimitive(stored, CONTEXT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <P, C> PersistentDataType<P, C> cast(Object type) {
+
+        return (PersistentDataType<P, C>) type;
+    }
+
+}
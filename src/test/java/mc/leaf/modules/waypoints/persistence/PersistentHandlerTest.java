@@ -0,0 +1,186 @@
+package mc.leaf.modules.waypoints.persistence;
+
+import mc.leaf.modules.waypoints.LeafWaypointsModule;
+import mc.leaf.modules.waypoints.TestServer;
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataHolder;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentHandlerTest {
+
+    private static final int      SAMPLES = 500;
+    private static final String[] WORLDS  = {"world", "world_nether", "world_the_end"};
+
+    private static LeafWaypointsModule                            module;
+    private static PersistentHandler<LeafWaypointsModule, Sample> handler;
+
+    @BeforeAll
+    static void createHandler() {
+
+        module  = TestServer.module();
+        handler = new PersistentHandler<>(module, Sample.class, Sample::new);
+    }
+
+    private static Sample random(Random random) {
+
+        Sample sample = new Sample(module);
+        // Every field is left out once in a while to cover removal of previous values.
+        if (random.nextInt(8) != 0) {
+            sample.text = Long.toString(random.nextLong(), Character.MAX_RADIX);
+        }
+        if (random.nextInt(8) != 0) {
+            sample.number = random.nextInt();
+        }
+        if (random.nextInt(8) != 0) {
+            sample.small = (short) random.nextInt();
+        }
+        if (random.nextInt(8) != 0) {
+            sample.large = random.nextLong();
+        }
+        if (random.nextInt(8) != 0) {
+            sample.uuid = new UUID(random.nextLong(), random.nextLong());
+        }
+        if (random.nextInt(8) != 0) {
+            sample.color = Color.fromRGB(random.nextInt(0x1000000));
+        }
+        if (random.nextInt(8) != 0) {
+            String world = WORLDS[random.nextInt(WORLDS.length)];
+            sample.location = new Location(TestServer.world(world), random.nextDouble() * 6e7 - 3e7, random.nextInt(384) - 64 + random.nextDouble(), random.nextDouble() * 6e7 - 3e7);
+        }
+        return sample;
+    }
+
+    private static void assertSameValues(Sample expected, Sample actual) {
+
+        assertEquals(expected.text, actual.text);
+        assertEquals(expected.number, actual.number);
+        assertEquals(expected.small, actual.small);
+        assertEquals(expected.large, actual.large);
+        assertEquals(expected.uuid, actual.uuid);
+        assertEquals(expected.color, actual.color);
+        assertEquals(expected.location, actual.location);
+    }
+
+    @Test
+    void randomValuesSurviveRoundTrip() {
+
+        Random random = new Random(0x1eaf);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            Sample                  sample    = random(random);
+            PersistentDataContainer primitive = handler.toPrimitive(sample, InMemoryPersistentData.CONTEXT);
+            Sample                  decoded   = handler.fromPrimitive(primitive, InMemoryPersistentData.CONTEXT);
+
+            assertNotSame(sample, decoded);
+            assertSameValues(sample, decoded);
+        }
+    }
+
+    @Test
+    void randomValuesSurviveNestedRoundTrip() {
+
+        Random        random = new Random(0xbeef);
+        NamespacedKey key    = new NamespacedKey(module.getPlugin(), "sample");
+
+        for (int i = 0; i < SAMPLES; i++) {
+            Sample               sample = random(random);
+            PersistentDataHolder holder = InMemoryPersistentData.holder(InMemoryPersistentData.container());
+
+            holder.getPersistentDataContainer().set(key, handler, sample);
+
+            assertTrue(holder.getPersistentDataContainer().has(key, PersistentDataType.TAG_CONTAINER));
+            assertSameValues(sample, holder.getPersistentDataContainer().get(key, handler));
+        }
+    }
+
+    @Test
+    void boundaryValuesSurviveRoundTrip() {
+
+        Sample sample = new Sample(module);
+        sample.text     = "";
+        sample.number   = Integer.MIN_VALUE;
+        sample.small    = Short.MAX_VALUE;
+        sample.large    = Long.MIN_VALUE;
+        sample.uuid     = new UUID(0, 0);
+        sample.color    = Color.WHITE;
+        sample.location = new Location(TestServer.world("world"), -0.0, Double.MAX_VALUE, Double.MIN_VALUE);
+
+        PersistentDataContainer primitive = handler.toPrimitive(sample, InMemoryPersistentData.CONTEXT);
+        assertSameValues(sample, handler.fromPrimitive(primitive, InMemoryPersistentData.CONTEXT));
+    }
+
+    @Test
+    void locationInUnknownWorldIsDropped() {
+
+        Sample sample = new Sample(module);
+        sample.location = new Location(TestServer.world("world"), 1, 2, 3);
+
+        PersistentDataContainer primitive = handler.toPrimitive(sample, InMemoryPersistentData.CONTEXT);
+        primitive.set(new NamespacedKey(module.getPlugin(), "location.w"), PersistentDataType.STRING, "deleted_world");
+
+        assertNull(handler.fromPrimitive(primitive, InMemoryPersistentData.CONTEXT).location);
+    }
+
+    static class Sample implements Persistable<LeafWaypointsModule> {
+
+        private final LeafWaypointsModule module;
+
+        @Persist(key = "text")
+        private String text;
+
+        @Persist(key = "number")
+        private Integer number;
+
+        @Persist(key = "small")
+        private Short small;
+
+        @Persist(key = "large")
+        private Long large;
+
+        @Persist(key = "uuid")
+        private UUID uuid;
+
+        @Persist(key = "color")
+        private Color color;
+
+        @Persist(key = "location")
+        private Location location;
+
+        Sample(LeafWaypointsModule module) {
+
+            this.module = module;
+        }
+
+        @Override
+        public void persist(@NotNull PersistentDataHolder holder) {
+
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void desist(@NotNull PersistentDataHolder holder) {
+
+            throw new UnsupportedOperationException();
+        }
+
+        @NotNull
+        @Override
+        public LeafWaypointsModule getModule() {
+
+            return this.module;
+        }
+
+    }
+
+}